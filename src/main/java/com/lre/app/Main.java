@@ -7,6 +7,7 @@ import com.lre.common.exceptions.LreException;
 import com.lre.common.exceptions.OperationExecutionException;
 import com.lre.common.utils.LogHelper;
 import com.lre.core.config.ReadConfigFile;
+import com.lre.core.http.HttpClientRegistry;
 import com.lre.model.enums.Operation;
 import lombok.extern.slf4j.Slf4j;
 
@@ -42,7 +43,8 @@ public class Main {
             Operation.RUN_LRE_TEST, ctx -> OPERATION_SERVICE.runLreTest(ctx.lre()),
             Operation.SYNC_GITLAB_WITH_LRE, ctx -> OPERATION_SERVICE.syncGitlabWithLre(ctx.git(), ctx.lre()),
             Operation.SEND_EMAIL, ctx -> OPERATION_SERVICE.sendEmail(ctx.email(), ctx.lre()),
-            Operation.EXTRACT_RESULTS, ctx -> OPERATION_SERVICE.extractResults(ctx.lre())
+            Operation.EXTRACT_RESULTS, ctx -> OPERATION_SERVICE.extractResults(ctx.lre()),
+            Operation.MONITOR_RUNS, ctx -> OPERATION_SERVICE.monitorRuns(ctx.lre())
     );
 
     public static void main(String[] args) {
@@ -85,6 +87,7 @@ public class Main {
             exitCode = EXIT_UNHANDLED_FAILURE;
         }
 
+        HttpClientRegistry.closeAll();
         System.exit(exitCode);
     }
 
@@ -130,6 +133,7 @@ public class Main {
                     case "sync" -> Operation.SYNC_GITLAB_WITH_LRE;
                     case "sendemail" -> Operation.SEND_EMAIL;
                     case "extract" -> Operation.EXTRACT_RESULTS;
+                    case "monitor" -> Operation.MONITOR_RUNS;
                     default -> {
                         log.warn("Unknown operation: {}", arg);
                         yield Operation.HELP;
@@ -148,6 +152,7 @@ public class Main {
                   sync        Sync GitLab with LRE
                   sendemail   Send email with test results
                   extract     Extract test results
+                  monitor     Wait for the runs in lre_monitor_run_ids to complete
                   help        Show this help message
 
                 Options:
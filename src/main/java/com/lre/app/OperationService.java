@@ -4,6 +4,7 @@ import com.lre.client.runclient.EmailUtils;
 import com.lre.client.runclient.GitSyncClient;
 import com.lre.client.runclient.LreRunClient;
 import com.lre.client.runclient.ResultsExtractionClient;
+import com.lre.client.runclient.RunMonitorClient;
 import com.lre.client.runmodel.EmailConfigModel;
 import com.lre.client.runmodel.GitTestRunModel;
 import com.lre.client.runmodel.LreTestRunModel;
@@ -29,6 +30,16 @@ public class OperationService {
         }
     }
 
+    public boolean monitorRuns(LreTestRunModel model) throws OperationExecutionException {
+        try (RunMonitorClient client = new RunMonitorClient(model)) {
+            return client.monitorRuns();
+        } catch (LreException e) {
+            throw new OperationExecutionException("Run monitoring failed", e);
+        } catch (RuntimeException e) {
+            throw new OperationExecutionException("Unexpected runtime error during run monitoring", e);
+        }
+    }
+
     public boolean syncGitlabWithLre(GitTestRunModel git, LreTestRunModel lre) throws OperationExecutionException {
         try (GitSyncClient client = new GitSyncClient(git, lre)) {
             return client.sync();
@@ -53,6 +64,7 @@ public class OperationService {
             client.publishHtmlReportIfFinished();
             client.publishAnalysedReportIfFinished();
             client.extractRunReportsToExcel();
+            client.exportTransactionRows();
             client.createRunResultsForEmail();
             return true;
 
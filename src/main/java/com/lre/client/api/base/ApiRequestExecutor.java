@@ -1,20 +1,29 @@
 package com.lre.client.api.base;
 
+import com.lre.common.exceptions.LreException;
 import com.lre.common.utils.JsonUtils;
 import com.lre.core.http.HttpRequestExecutor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.entity.mime.ContentBody;
 import org.apache.hc.client5.http.entity.mime.MultipartEntityBuilder;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpEntity;
 import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.io.entity.HttpEntityWrapper;
 import org.apache.hc.core5.http.io.entity.StringEntity;
 import org.apache.hc.core5.http.io.support.ClassicRequestBuilder;
 
-import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 @Slf4j
 public record ApiRequestExecutor(CloseableHttpClient httpClient) {
@@ -36,6 +45,46 @@ public record ApiRequestExecutor(CloseableHttpClient httpClient) {
         return executeList(url, clazz, resourceName + " list");
     }
 
+    /**
+     * Hands the raw response stream to a custom reader, e.g. a projection-only parser.
+     */
+    public <T> T fetchStream(String url, HttpRequestExecutor.ContentReader<T> reader, String resourceName) {
+        try {
+            return sendRequest(buildRequest(HttpMethod.GET, url, null, null, null), reader);
+        } catch (URISyntaxException e) {
+            throw uriError(resourceName + " stream", url, e);
+        }
+    }
+
+    /**
+     * Streams a JSON array response element by element to the consumer without building the full list.
+     */
+    public <T> void forEach(String url, Class<T> clazz, Consumer<T> consumer) {
+        try {
+            sendRequest(buildRequest(HttpMethod.GET, url, null, null, null), content -> {
+                JsonUtils.forEachInArray(content, clazz, consumer);
+                return null;
+            });
+        } catch (URISyntaxException e) {
+            throw uriError(clazz.getSimpleName() + " stream", url, e);
+        }
+    }
+
+    /**
+     * Streams a JSON array response to the consumer and returns the value of a response header, or null.
+     */
+    public <T> String forEach(String url, Class<T> clazz, Consumer<T> consumer, String headerName) {
+        try {
+            return HttpRequestExecutor.sendRequest(httpClient, buildRequest(HttpMethod.GET, url, null, null, null),
+                    (content, headers) -> {
+                        JsonUtils.forEachInArray(content, clazz, consumer);
+                        return headers.apply(headerName);
+                    });
+        } catch (URISyntaxException e) {
+            throw uriError(clazz.getSimpleName() + " stream", url, e);
+        }
+    }
+
     public <T> T create(String url, String payload, ContentType contentType, Class<T> clazz, String resourceName) {
         return execute(HttpMethod.POST, url, payload, contentType, clazz, "Create " + resourceName, null);
     }
@@ -47,8 +96,8 @@ public record ApiRequestExecutor(CloseableHttpClient httpClient) {
 
     public <T> List<T> createList(String url, String payload, ContentType contentType, Class<T> clazz, String resourceName) {
         try {
-            String response = sendRequest(buildRequest(HttpMethod.POST, url, payload, contentType, null));
-            return JsonUtils.fromJsonArray(response, clazz);
+            ClassicRequestBuilder request = buildRequest(HttpMethod.POST, url, payload, contentType, null);
+            return sendRequest(request, content -> JsonUtils.fromJsonArray(content, clazz));
         } catch (URISyntaxException e) {
             throw uriError(resourceName, url, e);
         }
@@ -58,6 +107,26 @@ public record ApiRequestExecutor(CloseableHttpClient httpClient) {
         execute(HttpMethod.PUT, url, payload, contentType, Void.class, "Update", null);
     }
 
+    /**
+     * Sends a PUT and parses the updated resource from the response, or returns null when the
+     * response has no body or cannot be parsed.
+     */
+    public <T> T update(String url, String payload, ContentType contentType, Class<T> clazz, String resourceName) {
+        String response;
+        try {
+            response = sendRequest(buildRequest(HttpMethod.PUT, url, payload, contentType, null));
+        } catch (URISyntaxException e) {
+            throw uriError("Update " + resourceName, url, e);
+        }
+        if (response == null || response.isBlank()) return null;
+        try {
+            return JsonUtils.fromJson(response, clazz);
+        } catch (LreException e) {
+            log.debug("Update {} response not parsed as {}: {}", resourceName, clazz.getSimpleName(), e.getMessage());
+            return null;
+        }
+    }
+
     public boolean download(String url, String destPath) {
         try {
             ClassicRequestBuilder requestBuilder = buildRequest(HttpMethod.GET, url, null, null, null);
@@ -73,10 +142,15 @@ public record ApiRequestExecutor(CloseableHttpClient httpClient) {
                           ContentType contentType, Class<T> clazz,
                           String operation, Map<String, String> extraHeaders) {
         try {
-            String response = sendRequest(buildRequest(method, url, payload, contentType, extraHeaders));
-            log.debug("{} response: {}", operation, response);
-            if (clazz == Void.class) return null;
-            return JsonUtils.fromJson(response, clazz);
+            ClassicRequestBuilder request = buildRequest(method, url, payload, contentType, extraHeaders);
+            if (clazz == Void.class) {
+                String response = sendRequest(request);
+                log.debug("{} response: {}", operation, response);
+                return null;
+            }
+            T result = sendRequest(request, content -> JsonUtils.fromJson(content, clazz));
+            log.debug("{} response parsed as {}", operation, clazz.getSimpleName());
+            return result;
         } catch (URISyntaxException e) {
             throw uriError(operation, url, e);
         }
@@ -85,9 +159,10 @@ public record ApiRequestExecutor(CloseableHttpClient httpClient) {
 
     private <T> List<T> executeList(String url, Class<T> clazz, String operation) {
         try {
-            String response = sendRequest(buildRequest(HttpMethod.GET, url, null, null, null));
-            log.debug("{} response : {}", operation, response);
-            return JsonUtils.fromJsonArray(response, clazz);
+            ClassicRequestBuilder request = buildRequest(HttpMethod.GET, url, null, null, null);
+            List<T> result = sendRequest(request, content -> JsonUtils.fromJsonArray(content, clazz));
+            log.debug("{} response parsed: {} items", operation, result != null ? result.size() : 0);
+            return result;
         } catch (URISyntaxException e) {
             throw uriError(operation, url, e);
         }
@@ -127,6 +202,10 @@ public record ApiRequestExecutor(CloseableHttpClient httpClient) {
         return HttpRequestExecutor.sendRequest(httpClient, requestBuilder);
     }
 
+    private <T> T sendRequest(ClassicRequestBuilder requestBuilder, HttpRequestExecutor.ContentReader<T> reader) {
+        return HttpRequestExecutor.sendRequest(httpClient, requestBuilder, reader);
+    }
+
     private boolean downloadApi(ClassicRequestBuilder requestBuilder, String destPath) {
         return HttpRequestExecutor.downloadFile(httpClient, requestBuilder, destPath);
     }
@@ -136,10 +215,14 @@ public record ApiRequestExecutor(CloseableHttpClient httpClient) {
         return new RuntimeException(e);
     }
 
-    public <T> T upload(String url, String metadataJson, File zipFile,
+    /**
+     * Uploads a multipart request whose file part is the given body, e.g. an in-memory package.
+     * Logs the bytes sent and the achieved throughput.
+     */
+    public <T> T upload(String url, String metadataJson, ContentBody fileBody,
                         Class<T> clazz, String resourceName) {
         try {
-            log.debug("Uploading script '{}' to {}", zipFile.getName(), url);
+            log.debug("Uploading script '{}' to {}", fileBody.getFilename(), url);
 
             var builder = ClassicRequestBuilder.post(new URI(url))
                     .addHeader(HttpHeaders.ACCEPT, ContentType.APPLICATION_JSON.getMimeType());
@@ -147,12 +230,17 @@ public record ApiRequestExecutor(CloseableHttpClient httpClient) {
             // Use multipart entity
             var multipartEntity = MultipartEntityBuilder.create()
                     .addTextBody("metadata", metadataJson, ContentType.APPLICATION_JSON)
-                    .addBinaryBody("file", zipFile, ContentType.APPLICATION_OCTET_STREAM, zipFile.getName())
+                    .addPart("file", fileBody)
                     .build();
 
-            builder.setEntity(multipartEntity);
+            CountingEntity entity = new CountingEntity(multipartEntity);
+            builder.setEntity(entity);
 
+            long start = System.nanoTime();
             String response = sendRequest(builder);
+            long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            log.info("Uploaded '{}': {} bytes sent in {} ms ({} KB/s)", fileBody.getFilename(),
+                    entity.bytesSent.get(), elapsedMs, entity.bytesSent.get() * 1000 / 1024 / elapsedMs);
             log.debug("Upload {} response: {}", resourceName, response);
 
             return clazz == Void.class ? null : JsonUtils.fromJson(response, clazz);
@@ -162,4 +250,32 @@ public record ApiRequestExecutor(CloseableHttpClient httpClient) {
         }
     }
 
+    /**
+     * Counts the bytes written to the connection while the request body is sent.
+     */
+    private static final class CountingEntity extends HttpEntityWrapper {
+        private final AtomicLong bytesSent = new AtomicLong();
+
+        private CountingEntity(HttpEntity entity) {
+            super(entity);
+        }
+
+        @Override
+        public void writeTo(OutputStream outStream) throws IOException {
+            super.writeTo(new FilterOutputStream(outStream) {
+                @Override
+                public void write(int b) throws IOException {
+                    out.write(b);
+                    bytesSent.incrementAndGet();
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                    bytesSent.addAndGet(len);
+                }
+            });
+        }
+    }
+
 }
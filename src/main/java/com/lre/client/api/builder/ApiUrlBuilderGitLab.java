@@ -23,6 +23,10 @@ public class ApiUrlBuilderGitLab {
     private static final String REPOSITORY_ENDPOINT = "repository";
     private static final String TREE_ENDPOINT = "tree";
     private static final String COMMITS_ENDPOINT = "commits";
+    private static final String COMPARE_ENDPOINT = "compare";
+    private static final String MERGE_BASE_ENDPOINT = "merge_base";
+    private static final String JOBS_ENDPOINT = "jobs";
+    private static final String PIPELINES_ENDPOINT = "pipelines";
     public static final int GITLAB_PER_PAGE_RECORDS = 100;
 
 
@@ -44,19 +48,20 @@ public class ApiUrlBuilderGitLab {
      * Repository tree with recursive, branch, and pagination parameters
      */
     public String getRepositoryTreeUrl(int page) {
-        return getRepositoryTreeUrl(null, page);
+        return getRepositoryTreeUrl(null, null, page);
     }
 
     /**
-     * Repository tree for specific path
+     * Repository tree for specific path at a commit; the branch when {@code ref} is blank.
+     * Paged listings pin a commit so every page comes from the same tree.
      */
-    public String getRepositoryTreeUrl(String path, int page) {
+    public String getRepositoryTreeUrl(String ref, String path, int page) {
         try {
             String baseUrl = String.format("%s/%s/%s", getProjectUrl(), REPOSITORY_ENDPOINT, TREE_ENDPOINT);
             URIBuilder builder = new URIBuilder(baseUrl);
 
             builder.addParameter("recursive", "true");
-            builder.addParameter("ref", branch);
+            builder.addParameter("ref", StringUtils.isNotBlank(ref) ? ref : branch);
             builder.addParameter("per_page", String.valueOf(GITLAB_PER_PAGE_RECORDS));
             builder.addParameter("page", String.valueOf(page));
 
@@ -70,9 +75,16 @@ public class ApiUrlBuilderGitLab {
 
 
     public String getCommitHistoryArtifactUrl() {
+        return getJobArtifactUrl(COMMIT_HISTORY_ARTIFACT_PATH);
+    }
+
+    /**
+     * Raw file from the artifacts of the latest successful sync job on the branch
+     */
+    public String getJobArtifactUrl(String artifactPath) {
         try {
             String baseUrl = String.format("%s/jobs/artifacts/%s/raw/%s",
-                    getProjectUrl(), branch, COMMIT_HISTORY_ARTIFACT_PATH);
+                    getProjectUrl(), branch, artifactPath);
             URIBuilder builder = new URIBuilder(baseUrl);
             builder.addParameter("job", jobName);
             return builder.build().toString();
@@ -81,6 +93,49 @@ public class ApiUrlBuilderGitLab {
         }
     }
 
+    /**
+     * One page of the pipelines of the branch, newest first:
+     *   GET /projects/:id/pipelines?ref=main&order_by=id&sort=desc
+     */
+    public String getBranchPipelinesUrl(int page) {
+        try {
+            URIBuilder builder = new URIBuilder(String.format("%s/%s", getProjectUrl(), PIPELINES_ENDPOINT));
+            builder.addParameter("ref", branch);
+            builder.addParameter("order_by", "id");
+            builder.addParameter("sort", "desc");
+            builder.addParameter("per_page", String.valueOf(GITLAB_PER_PAGE_RECORDS));
+            builder.addParameter("page", String.valueOf(page));
+            return builder.build().toString();
+        } catch (URISyntaxException e) {
+            throw new LreException("Invalid URL for branch pipelines", e);
+        }
+    }
+
+    /**
+     * One page of the finished jobs of a pipeline, latest attempt of each:
+     *   GET /projects/:id/pipelines/:pipeline_id/jobs?scope[]=success&scope[]=failed
+     */
+    public String getFinishedPipelineJobsUrl(long pipelineId, int page) {
+        try {
+            String baseUrl = String.format("%s/%s/%d/%s", getProjectUrl(), PIPELINES_ENDPOINT, pipelineId, JOBS_ENDPOINT);
+            URIBuilder builder = new URIBuilder(baseUrl);
+            builder.addParameter("scope[]", "success");
+            builder.addParameter("scope[]", "failed");
+            builder.addParameter("per_page", String.valueOf(GITLAB_PER_PAGE_RECORDS));
+            builder.addParameter("page", String.valueOf(page));
+            return builder.build().toString();
+        } catch (URISyntaxException e) {
+            throw new LreException("Invalid URL for pipeline jobs", e);
+        }
+    }
+
+    /**
+     * Raw file from the artifacts of a specific job, whatever its status
+     */
+    public String getJobArtifactUrl(long jobId, String artifactPath) {
+        return String.format("%s/%s/%d/artifacts/%s", getProjectUrl(), JOBS_ENDPOINT, jobId, artifactPath);
+    }
+
     /**
      * Get commits for a specific path (directory or file) - returns latest commit
      */
@@ -102,6 +157,39 @@ public class ApiUrlBuilderGitLab {
         }
     }
 
+    /**
+     * Direct compare of two commits, not from their merge base:
+     *   GET /projects/:id/repository/compare?from=abc&to=def&straight=true
+     */
+    public String getCompareUrl(String fromSha, String toSha) {
+        try {
+            String baseUrl = String.format("%s/%s/%s", getProjectUrl(), REPOSITORY_ENDPOINT, COMPARE_ENDPOINT);
+            URIBuilder builder = new URIBuilder(baseUrl);
+            builder.addParameter("from", fromSha);
+            builder.addParameter("to", toSha);
+            builder.addParameter("straight", "true");
+            return builder.build().toString();
+        } catch (URISyntaxException e) {
+            throw new LreException("Invalid URL for repository compare", e);
+        }
+    }
+
+    /**
+     * Common ancestor of two commits:
+     *   GET /projects/:id/repository/merge_base?refs[]=abc&refs[]=def
+     */
+    public String getMergeBaseUrl(String firstSha, String secondSha) {
+        try {
+            String baseUrl = String.format("%s/%s/%s", getProjectUrl(), REPOSITORY_ENDPOINT, MERGE_BASE_ENDPOINT);
+            URIBuilder builder = new URIBuilder(baseUrl);
+            builder.addParameter("refs[]", firstSha);
+            builder.addParameter("refs[]", secondSha);
+            return builder.build().toString();
+        } catch (URISyntaxException e) {
+            throw new LreException("Invalid URL for merge base", e);
+        }
+    }
+
     /**
      * Builds URL to download an archive (.zip) of the repository or a specific path.
      * Example:
@@ -3,23 +3,37 @@ package com.lre.client.api.gitlab;
 import com.lre.client.api.base.ApiRequestExecutor;
 import com.lre.client.api.builder.ApiUrlBuilderGitLab;
 import com.lre.client.runmodel.GitTestRunModel;
-import com.lre.core.http.HttpClientUtils;
+import com.lre.core.http.HttpClientRegistry;
 import com.lre.model.git.GitLabCommit;
+import com.lre.model.git.GitLabCompare;
+import com.lre.model.git.GitLabJob;
+import com.lre.model.git.GitLabPipeline;
 import com.lre.model.git.GitLabTreeItem;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static com.lre.client.api.builder.ApiUrlBuilderGitLab.GITLAB_PER_PAGE_RECORDS;
 
 @Slf4j
 public class GitLabRestApis implements AutoCloseable {
 
+    private static final String TOTAL_PAGES_HEADER = "X-Total-Pages";
+    // Bounds the search for the last sync job on branches where it never ran
+    private static final int MAX_PIPELINE_PAGES = 5;
+
     private final CloseableHttpClient httpClient;
     private final ApiUrlBuilderGitLab urlBuilder;
     private final ApiRequestExecutor executor;
 
     public GitLabRestApis(GitTestRunModel model) {
-        this.httpClient = HttpClientUtils.createClientWithToken(model.getGitlabToken());
+        this.httpClient = HttpClientRegistry.acquireWithToken(model.getGitServerUrl(), model.getGitlabToken());
         this.urlBuilder = new ApiUrlBuilderGitLab(model);
         this.executor = new ApiRequestExecutor(httpClient);
     }
@@ -32,12 +46,100 @@ public class GitLabRestApis implements AutoCloseable {
         return executor.fetchList(url, GitLabTreeItem.class, "Repository tree");
     }
 
+    /**
+     * One page of a tree listing: the number of items it held and the total page count,
+     * 0 when GitLab omits the count (it does for very large listings).
+     */
+    public record TreePage(int items, int totalPages) {
+    }
+
+    /**
+     * Streams one page of the recursive tree below a path at a commit (the branch when blank) to the consumer
+     */
+    public TreePage forEachTreeItem(String ref, String path, int page, Consumer<GitLabTreeItem> consumer) {
+        String url = urlBuilder.getRepositoryTreeUrl(ref, path, page);
+        AtomicInteger items = new AtomicInteger();
+        String totalPages = executor.forEach(url, GitLabTreeItem.class, item -> {
+            items.incrementAndGet();
+            consumer.accept(item);
+        }, TOTAL_PAGES_HEADER);
+        return new TreePage(items.get(), NumberUtils.toInt(totalPages, 0));
+    }
+
+    /**
+     * Compare two commits; the response lists the changed paths between them
+     */
+    public GitLabCompare compare(String fromSha, String toSha) {
+        String url = urlBuilder.getCompareUrl(fromSha, toSha);
+        return executor.fetchById(url, GitLabCompare.class, "Repository compare");
+    }
+
+    /**
+     * Whether {@code ancestorSha} is reachable from {@code sha}, i.e. the branch moved forward
+     * from it rather than being rewritten by a force push or rebase
+     */
+    public boolean isAncestor(String ancestorSha, String sha) {
+        String url = urlBuilder.getMergeBaseUrl(ancestorSha, sha);
+        GitLabCommit mergeBase = executor.fetchById(url, GitLabCommit.class, "Merge base");
+        return mergeBase != null && ancestorSha.equals(mergeBase.getSha());
+    }
+
 
     public boolean downloadGitCommitHistoryArtifact(String destPath) {
         String url = urlBuilder.getCommitHistoryArtifactUrl();
         return executor.download(url, destPath);
     }
 
+    public boolean downloadJobArtifact(String artifactPath, String destPath) {
+        String url = urlBuilder.getJobArtifactUrl(artifactPath);
+        return executor.download(url, destPath);
+    }
+
+    /**
+     * Downloads an artifact of the last sync job on the branch if that job failed. Artifacts of
+     * failed jobs are not served by the latest-successful-job endpoint.
+     *
+     * @return false when the last finished sync job succeeded or did not publish the artifact
+     */
+    public boolean downloadFailedJobArtifact(String artifactPath, String destPath) {
+        Optional<GitLabJob> lastSyncJob = findLastFinishedSyncJob();
+        if (lastSyncJob.isEmpty() || !"failed".equals(lastSyncJob.get().getStatus())) return false;
+        return executor.download(urlBuilder.getJobArtifactUrl(lastSyncJob.get().getId(), artifactPath), destPath);
+    }
+
+    /**
+     * Walks the pipelines of the branch newest first and returns the sync job of the first one
+     * that finished it. GitLab filters pipelines by branch and jobs by status; only the job name
+     * is matched here. Gives up after {@link #MAX_PIPELINE_PAGES} pages of pipelines.
+     */
+    private Optional<GitLabJob> findLastFinishedSyncJob() {
+        for (int page = 1; page <= MAX_PIPELINE_PAGES; page++) {
+            List<GitLabPipeline> pipelines = executor.fetchList(urlBuilder.getBranchPipelinesUrl(page),
+                    GitLabPipeline.class, "Branch pipelines");
+            if (pipelines == null || pipelines.isEmpty()) return Optional.empty();
+            for (GitLabPipeline pipeline : pipelines) {
+                Optional<GitLabJob> syncJob = findFinishedSyncJob(pipeline.getId());
+                if (syncJob.isPresent()) return syncJob;
+            }
+            if (pipelines.size() < GITLAB_PER_PAGE_RECORDS) return Optional.empty();
+        }
+        log.debug("No finished '{}' job in the last {} pipelines of {}", urlBuilder.getJobName(),
+                MAX_PIPELINE_PAGES * GITLAB_PER_PAGE_RECORDS, urlBuilder.getBranch());
+        return Optional.empty();
+    }
+
+    private Optional<GitLabJob> findFinishedSyncJob(long pipelineId) {
+        for (int page = 1; ; page++) {
+            List<GitLabJob> jobs = executor.fetchList(urlBuilder.getFinishedPipelineJobsUrl(pipelineId, page),
+                    GitLabJob.class, "Pipeline jobs");
+            if (jobs == null || jobs.isEmpty()) return Optional.empty();
+            Optional<GitLabJob> syncJob = jobs.stream()
+                    .filter(job -> Objects.equals(urlBuilder.getJobName(), job.getName()))
+                    .findFirst();
+            if (syncJob.isPresent() || jobs.size() < GITLAB_PER_PAGE_RECORDS) return syncJob;
+        }
+    }
+
     /**
      * Get latest commit SHA for a specific path
      */
@@ -54,6 +156,6 @@ public class GitLabRestApis implements AutoCloseable {
 
     @Override
     public void close() throws Exception {
-        if (httpClient != null) httpClient.close();
+        if (httpClient != null) HttpClientRegistry.release(httpClient);
     }
 }
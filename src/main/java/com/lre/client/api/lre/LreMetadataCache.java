@@ -0,0 +1,155 @@
+package com.lre.client.api.lre;
+
+import com.lre.client.api.base.ApiRequestExecutor;
+import com.lre.client.runmodel.LreTestRunModel;
+import com.lre.common.exceptions.LreException;
+import com.lre.core.http.HttpRequestExecutor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.*;
+import java.time.Duration;
+import java.time.Instant;
+
+import static com.lre.common.constants.ConfigConstants.*;
+
+/**
+ * On-disk cache of LRE project metadata (tests, test plans, scripts, hosts ...).
+ * <p>
+ * Raw list responses are stored under {@code <workspace>/artifacts/.lre-cache/<server>/<domain>/<project>/},
+ * one file per entity, so consecutive pipeline stages and parallel jobs on the same runner reuse them.
+ * Each entity has its own TTL, and the write operations of {@link LreRestApis} invalidate the
+ * entities they change. Files are replaced atomically, so concurrent readers never see partial data.
+ */
+@Slf4j
+public class LreMetadataCache {
+
+    @Getter
+    public enum Entity {
+        TESTS("tests.json", Duration.ofMinutes(10)),
+        TEST_PLANS("testplans.json", Duration.ofMinutes(30)),
+        TEST_SETS("testsets.json", Duration.ofMinutes(30)),
+        TEST_SET_FOLDERS("testsetfolders.json", Duration.ofMinutes(30)),
+        SCRIPTS("scripts.json", Duration.ofMinutes(10)),
+        CONTROLLERS("controllers.json", Duration.ofMinutes(2)),
+        LOAD_GENERATORS("loadgenerators.json", Duration.ofMinutes(2)),
+        CLOUD_TEMPLATES("cloudtemplates.json", Duration.ofHours(1));
+
+        private final String fileName;
+        private final Duration ttl;
+
+        Entity(String fileName, Duration ttl) {
+            this.fileName = fileName;
+            this.ttl = ttl;
+        }
+    }
+
+    private final ApiRequestExecutor executor;
+    private final Path cacheDir;
+    private final boolean enabled;
+
+    public LreMetadataCache(ApiRequestExecutor executor, Path cacheDir, boolean enabled) {
+        this.executor = executor;
+        this.cacheDir = cacheDir;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Reads an entity list from the cache, refreshing it from LRE first when missing or expired.
+     */
+    public <T> T read(Entity entity, String url, HttpRequestExecutor.ContentReader<T> reader) {
+        if (!enabled) return executor.fetchStream(url, reader, entity.name());
+
+        Path file = cacheDir.resolve(entity.getFileName());
+        if (isFresh(file, entity.getTtl())) {
+            log.debug("Metadata cache hit for {}: {}", entity, file);
+        } else {
+            refresh(entity, url, file);
+        }
+
+        try (InputStream content = Files.newInputStream(file)) {
+            return reader.read(content);
+        } catch (IOException | LreException e) {
+            log.warn("Discarding unreadable metadata cache file {}: {}", file, e.getMessage());
+            invalidate(entity);
+            return executor.fetchStream(url, reader, entity.name());
+        }
+    }
+
+    /**
+     * Reads an entity list from LRE, bypassing the cached copy, and stores it for later reads.
+     */
+    public <T> T readFresh(Entity entity, String url, HttpRequestExecutor.ContentReader<T> reader) {
+        invalidate(entity);
+        return read(entity, url, reader);
+    }
+
+    /**
+     * Drops the cached copy of the given entities, forcing the next read to go to LRE.
+     */
+    public void invalidate(Entity... entities) {
+        if (!enabled) return;
+        for (Entity entity : entities) {
+            try {
+                if (Files.deleteIfExists(cacheDir.resolve(entity.getFileName()))) {
+                    log.debug("Invalidated metadata cache for {}", entity);
+                }
+            } catch (IOException e) {
+                log.warn("Failed to invalidate metadata cache for {}: {}", entity, e.getMessage());
+            }
+        }
+    }
+
+    private void refresh(Entity entity, String url, Path file) {
+        try {
+            Files.createDirectories(cacheDir);
+            Path tempFile = Files.createTempFile(cacheDir, entity.getFileName(), ".tmp");
+            try {
+                if (!executor.download(url, tempFile.toString())) {
+                    throw new LreException("No content received for " + entity);
+                }
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                log.debug("Refreshed metadata cache for {}: {}", entity, file);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            throw new LreException("Failed to refresh metadata cache for " + entity, e);
+        }
+    }
+
+    private boolean isFresh(Path file, Duration ttl) {
+        try {
+            if (!Files.exists(file)) return false;
+            Instant modified = Files.getLastModifiedTime(file).toInstant();
+            return modified.plus(ttl).isAfter(Instant.now());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Resolves the cache directory of the server/domain/project of a run model.
+     */
+    public static Path resolveCacheDir(LreTestRunModel model) {
+        String workspace = model.getWorkspace() != null ? model.getWorkspace() : DEFAULT_OUTPUT_DIR;
+        Path cacheRoot = Paths.get(workspace, ARTIFACTS_DIR, LRE_METADATA_CACHE_DIR);
+        return resolveCacheDir(cacheRoot, model.getLreServerUrl(), model.getDomain(), model.getProject());
+    }
+
+    /**
+     * Resolves the cache directory of a server/domain/project under the workspace.
+     */
+    public static Path resolveCacheDir(Path cacheRoot, String serverUrl, String domain, String project) {
+        return cacheRoot
+                .resolve(sanitize(serverUrl.replaceFirst("^https?://", "")))
+                .resolve(sanitize(domain))
+                .resolve(sanitize(project));
+    }
+
+    private static String sanitize(String value) {
+        return value == null ? "_" : value.replaceAll("[^a-zA-Z0-9._-]", "_").toLowerCase();
+    }
+}
@@ -4,10 +4,14 @@ import com.lre.client.api.base.ApiRequestExecutor;
 import com.lre.client.api.base.AuthenticationService;
 import com.lre.client.api.builder.ApiUrlBuilderLre;
 import com.lre.client.runmodel.LreTestRunModel;
-import com.lre.core.http.HttpClientUtils;
+import com.lre.common.utils.JsonUtils;
+import com.lre.core.http.HttpClientRegistry;
 import com.lre.model.run.*;
 import com.lre.model.script.LreScript;
+import com.lre.model.script.ScriptIndex;
+import com.lre.model.script.ScriptPackage;
 import com.lre.model.test.Test;
+import com.lre.model.test.TestIndex;
 import com.lre.model.test.testcontent.groups.hosts.CloudTemplate;
 import com.lre.model.test.testcontent.groups.hosts.HostResponse;
 import com.lre.model.test.testcontent.groups.script.Script;
@@ -18,10 +22,13 @@ import com.lre.model.testset.LreTestSetFolder;
 import com.lre.model.timeslot.TimeslotCheckResponse;
 import com.lre.model.transactions.LreTransactionMetricsResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.entity.mime.ByteArrayBody;
+import org.apache.hc.client5.http.entity.mime.ContentBody;
+import org.apache.hc.client5.http.entity.mime.FileBody;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.core5.http.ContentType;
 
-import java.nio.file.Path;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -33,17 +40,20 @@ public class LreRestApis implements AutoCloseable {
     private final ApiUrlBuilderLre urlBuilder;
     private final ApiRequestExecutor executor;
     private final AuthenticationService authService;
+    private final LreMetadataCache metadataCache;
 
     public LreRestApis(LreTestRunModel model) {
-        this.httpClient = HttpClientUtils.createClient();
+        this.httpClient = HttpClientRegistry.acquire(model.getLreServerUrl(), model.getUserName(), model.getPassword());
         this.urlBuilder = new ApiUrlBuilderLre(model);
         this.executor = new ApiRequestExecutor(httpClient);
         this.authService = new AuthenticationService(httpClient, urlBuilder);
+        this.metadataCache = new LreMetadataCache(executor, LreMetadataCache.resolveCacheDir(model),
+                model.isMetadataCacheEnabled());
     }
 
     @Override
     public void close() throws Exception {
-        if (httpClient != null) httpClient.close();
+        if (httpClient != null) HttpClientRegistry.release(httpClient);
     }
 
     // Authentication
@@ -60,43 +70,63 @@ public class LreRestApis implements AutoCloseable {
         return executor.fetchById(urlBuilder.tests().getTestByIdUrl(testId), Test.class, "Test");
     }
 
-    public List<Test> fetchAllTests() {
-        return executor.fetchList(urlBuilder.tests().getTestsUrl(), Test.class, "Tests");
+    public TestIndex fetchTestIndex() {
+        return metadataCache.read(LreMetadataCache.Entity.TESTS, urlBuilder.tests().getTestsUrl(), TestIndex::parse);
+    }
+
+    /**
+     * Fetches the test listing from LRE, bypassing the metadata cache, so edits made outside this run are seen.
+     */
+    public TestIndex refreshTestIndex() {
+        return metadataCache.readFresh(LreMetadataCache.Entity.TESTS, urlBuilder.tests().getTestsUrl(), TestIndex::parse);
     }
 
     public Test createTest(String payload) {
-        return executor.create(urlBuilder.tests().getTestsUrl(), payload, ContentType.APPLICATION_XML, Test.class, "Test");
+        Test test = executor.create(urlBuilder.tests().getTestsUrl(), payload, ContentType.APPLICATION_XML, Test.class, "Test");
+        metadataCache.invalidate(LreMetadataCache.Entity.TESTS);
+        return test;
     }
 
-    public void updateTest(int testId, String payload) {
-        executor.update(urlBuilder.tests().getTestByIdUrl(testId), payload, ContentType.APPLICATION_XML);
+    /**
+     * Updates a test and returns it as echoed by LRE, or null when LRE returns no test.
+     */
+    public Test updateTest(int testId, String payload) {
+        Test test = executor.update(urlBuilder.tests().getTestByIdUrl(testId), payload, ContentType.APPLICATION_XML, Test.class, "Test");
+        metadataCache.invalidate(LreMetadataCache.Entity.TESTS);
+        return test;
     }
 
     // Test Plan
     public List<LreTestPlan> fetchAllTestPlans() {
-        return executor.fetchList(urlBuilder.tests().getTestPlansUrl(), LreTestPlan.class, "Test Plans");
+        return readCachedList(LreMetadataCache.Entity.TEST_PLANS, urlBuilder.tests().getTestPlansUrl(), LreTestPlan.class);
     }
 
     public LreTestPlan createTestPlan(String payload) {
-        return executor.create(urlBuilder.tests().getTestPlansUrl(), payload, ContentType.APPLICATION_JSON, LreTestPlan.class, "Test Plan");
+        LreTestPlan plan = executor.create(urlBuilder.tests().getTestPlansUrl(), payload, ContentType.APPLICATION_JSON, LreTestPlan.class, "Test Plan");
+        metadataCache.invalidate(LreMetadataCache.Entity.TEST_PLANS);
+        return plan;
     }
 
     // Test Set
     public List<LreTestSet> fetchAllTestSets() {
-        return executor.fetchList(urlBuilder.tests().getTestSetsUrl(), LreTestSet.class, "Test Sets");
+        return readCachedList(LreMetadataCache.Entity.TEST_SETS, urlBuilder.tests().getTestSetsUrl(), LreTestSet.class);
     }
 
     public LreTestSet createTestSet(String payload) {
-        return executor.create(urlBuilder.tests().getTestSetsUrl(), payload, ContentType.APPLICATION_JSON, LreTestSet.class, "Test Set");
+        LreTestSet testSet = executor.create(urlBuilder.tests().getTestSetsUrl(), payload, ContentType.APPLICATION_JSON, LreTestSet.class, "Test Set");
+        metadataCache.invalidate(LreMetadataCache.Entity.TEST_SETS);
+        return testSet;
     }
 
     // Test Set Folder
     public List<LreTestSetFolder> fetchAllTestSetFolders() {
-        return executor.fetchList(urlBuilder.tests().getTestSetFoldersUrl(), LreTestSetFolder.class, "Test Set Folders");
+        return readCachedList(LreMetadataCache.Entity.TEST_SET_FOLDERS, urlBuilder.tests().getTestSetFoldersUrl(), LreTestSetFolder.class);
     }
 
     public LreTestSetFolder createTestSetFolder(String payload) {
-        return executor.create(urlBuilder.tests().getTestSetFoldersUrl(), payload, ContentType.APPLICATION_JSON, LreTestSetFolder.class, "Test Set Folder");
+        LreTestSetFolder folder = executor.create(urlBuilder.tests().getTestSetFoldersUrl(), payload, ContentType.APPLICATION_JSON, LreTestSetFolder.class, "Test Set Folder");
+        metadataCache.invalidate(LreMetadataCache.Entity.TEST_SET_FOLDERS);
+        return folder;
     }
 
     // Test Instance
@@ -110,8 +140,18 @@ public class LreRestApis implements AutoCloseable {
     }
 
     // Script
-    public List<Script> fetchAllScripts() {
-        return executor.fetchList(urlBuilder.scripts().getScriptsUrl(), Script.class, "Scripts");
+    /**
+     * Streams the project's scripts element by element into a new index, without building the full list.
+     */
+    public ScriptIndex fetchScriptIndex() {
+        return metadataCache.read(LreMetadataCache.Entity.SCRIPTS, urlBuilder.scripts().getScriptsUrl(), LreRestApis::parseScriptIndex);
+    }
+
+    /**
+     * Fetches the script listing from LRE, bypassing the metadata cache, so changes made outside this run are seen.
+     */
+    public ScriptIndex refreshScriptIndex() {
+        return metadataCache.readFresh(LreMetadataCache.Entity.SCRIPTS, urlBuilder.scripts().getScriptsUrl(), LreRestApis::parseScriptIndex);
     }
 
     public Script fetchScriptById(int scriptId) {
@@ -148,7 +188,7 @@ public class LreRestApis implements AutoCloseable {
 
     // Cloud Templates
     public List<CloudTemplate> fetchAllCloudTemplates() {
-        return executor.fetchList(urlBuilder.templates().getCloudTemplateUrl(), CloudTemplate.class, "Cloud Templates");
+        return readCachedList(LreMetadataCache.Entity.CLOUD_TEMPLATES, urlBuilder.templates().getCloudTemplateUrl(), CloudTemplate.class);
     }
 
     public CloudTemplate fetchCloudTemplateById(int id) {
@@ -158,12 +198,12 @@ public class LreRestApis implements AutoCloseable {
     // Hosts
     public List<HostResponse> fetchControllers() {
         String url = urlBuilder.hosts().getControllersUrl();
-        return executor.fetchList(url, HostResponse.class, "Controllers list");
+        return readCachedList(LreMetadataCache.Entity.CONTROLLERS, url, HostResponse.class);
     }
 
     public List<HostResponse> fetchLoadGenerators() {
         String url = urlBuilder.hosts().getLoadGeneratorsUrl();
-        return executor.fetchList(url, HostResponse.class, "Load Generators list");
+        return readCachedList(LreMetadataCache.Entity.LOAD_GENERATORS, url, HostResponse.class);
     }
 
     public boolean getRunResultData(int runId, int resultsId, String filePath) {
@@ -171,15 +211,23 @@ public class LreRestApis implements AutoCloseable {
         return executor.download(url, filePath);
     }
 
-    public LreScript uploadScript(Path scriptPath, String payload) {
+    /**
+     * Uploads a packaged script, sending in-memory packages straight from memory.
+     */
+    public LreScript uploadScript(ScriptPackage scriptPackage, String payload) {
         String url = urlBuilder.scripts().getUploadScriptUrl();
-        return executor.upload(url, payload, scriptPath.toFile(), LreScript.class, "Upload");
-
+        ContentBody body = scriptPackage.isInMemory()
+                ? new ByteArrayBody(scriptPackage.getBytes(), ContentType.APPLICATION_OCTET_STREAM, scriptPackage.getFileName())
+                : new FileBody(scriptPackage.getFile().toFile(), ContentType.APPLICATION_OCTET_STREAM, scriptPackage.getFileName());
+        LreScript script = executor.upload(url, payload, body, LreScript.class, "Upload");
+        metadataCache.invalidate(LreMetadataCache.Entity.SCRIPTS);
+        return script;
     }
 
     public void deleteScript(int id) {
         String url = urlBuilder.scripts().getDeleteScriptUrl(id);
         executor.deleteById(url, "delete");
+        metadataCache.invalidate(LreMetadataCache.Entity.SCRIPTS);
     }
 
     public LreOpenRunDashboardResponse getPCRunId(String payload) {
@@ -196,4 +244,14 @@ public class LreRestApis implements AutoCloseable {
         return executor.createWeb(url, payload, ContentType.APPLICATION_JSON, LreTransactionMetricsResponse.class,
                 "transaction list", headers);
     }
-}
\ No newline at end of file
+
+    private static ScriptIndex parseScriptIndex(InputStream content) {
+        ScriptIndex index = new ScriptIndex();
+        JsonUtils.forEachInArray(content, Script.class, index::add);
+        return index;
+    }
+
+    private <T> List<T> readCachedList(LreMetadataCache.Entity entity, String url, Class<T> clazz) {
+        return metadataCache.read(entity, url, content -> JsonUtils.fromJsonArray(content, clazz));
+    }
+}
@@ -6,15 +6,19 @@ import com.lre.client.runmodel.GitTestRunModel;
 import com.lre.client.runmodel.LreTestRunModel;
 import com.lre.common.exceptions.LreException;
 import com.lre.model.git.GitLabCommit;
+import com.lre.model.git.SyncHistory;
 import com.lre.services.git.*;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.List;
 
 import static com.lre.common.constants.ConfigConstants.COMMIT_HISTORY_ARTIFACT_PATH;
 import static com.lre.common.constants.ConfigConstants.DEFAULT_OUTPUT_DIR;
+import static com.lre.common.constants.ConfigConstants.PACKAGE_CACHE_ARTIFACT_PATH;
 
 @Slf4j
 public class GitSyncClient extends BaseLreClient {
@@ -24,6 +28,7 @@ public class GitSyncClient extends BaseLreClient {
     private final GitRepositoryScanner scanner;
     private final CommitHistoryManager historyManager;
     private final SyncAnalyzer analyzer;
+    private final ScriptPackageCache packageCache;
     private final LreSyncService lreService;
 
     public GitSyncClient(GitTestRunModel gitModel, LreTestRunModel lreModel) {
@@ -31,10 +36,13 @@ public class GitSyncClient extends BaseLreClient {
 
         GitLabRestApis gitApis = new GitLabRestApis(gitModel);
 
-        this.scanner = new GitRepositoryScanner(gitApis, DEFAULT_THREAD_POOL_SIZE);
+        this.scanner = new GitRepositoryScanner(gitApis, DEFAULT_THREAD_POOL_SIZE, gitModel.isTreeFingerprints(),
+                Arrays.asList(StringUtils.split(StringUtils.defaultString(gitModel.getScriptRoots()), ',')));
         this.historyManager = new CommitHistoryManager(gitApis, getHistoryPath());
         this.analyzer = new SyncAnalyzer();
-        this.lreService = new LreSyncService(gitApis, lreModel, lreRestApis);
+        this.packageCache = new ScriptPackageCache(gitApis,
+                Paths.get(DEFAULT_OUTPUT_DIR, PACKAGE_CACHE_ARTIFACT_PATH), gitModel.isSyncPackageCache());
+        this.lreService = new LreSyncService(gitApis, gitModel, lreModel, lreRestApis, packageCache, historyManager);
 
         trace("GitSyncClient initialized");
     }
@@ -42,43 +50,51 @@ public class GitSyncClient extends BaseLreClient {
     public boolean sync() throws LreException {
         trace("Starting Git–LRE sync");
 
-        List<GitLabCommit> current = scanner.scanScripts();
-        List<GitLabCommit> previous = historyManager.loadHistory();
+        GitLabCommit head = scanner.fetchHead();
+        SyncHistory history = historyManager.loadHistory();
+        packageCache.load();
+        List<GitLabCommit> previous = history.getCommits();
 
         if (previous.isEmpty()) {
-            return performInitialSync(current);
+            return performInitialSync(scanner.scanScripts(head), head);
         }
 
-        return performIncrementalSync(previous, current);
+        List<GitLabCommit> current = scanner.scanChanges(previous, history.getHeadSha(), head)
+                .orElseGet(() -> scanner.scanScripts(head));
+        return performIncrementalSync(previous, current, head);
     }
 
-    private boolean performInitialSync(List<GitLabCommit> currentCommits) throws LreException {
+    private boolean performInitialSync(List<GitLabCommit> currentCommits, GitLabCommit head) throws LreException {
         log.info("Performing INITIAL sync with {} scripts", currentCommits.size());
-        boolean success = lreService.uploadScripts(currentCommits);
+        boolean success = lreService.uploadScripts(currentCommits, currentCommits);
 
         lreService.logCombinedSummary();
 
-        if (success) historyManager.saveHistory(currentCommits);
+        if (success) historyManager.saveHistory(new SyncHistory(head.getSha(), currentCommits));
         return success;
     }
 
-    private boolean performIncrementalSync(List<GitLabCommit> previous, List<GitLabCommit> current) throws LreException {
+    private boolean performIncrementalSync(List<GitLabCommit> previous, List<GitLabCommit> current,
+                                           GitLabCommit head) throws LreException {
         log.info("Performing INCREMENTAL sync");
 
         SyncResult diff = analyzer.analyze(previous, current);
 
-        if (diff.logIfNoChanges()) return true;
+        if (diff.logIfNoChanges()) {
+            historyManager.saveHistory(new SyncHistory(head.getSha(), current));
+            return true;
+        }
 
         logSyncSummary(diff);
 
-        boolean uploaded = diff.scriptsToUpload().isEmpty() || lreService.uploadScripts(diff.scriptsToUpload());
+        boolean uploaded = diff.scriptsToUpload().isEmpty() || lreService.uploadScripts(diff.scriptsToUpload(), current);
         boolean deleted  = diff.scriptsToDelete().isEmpty() || lreService.deleteScripts(diff.scriptsToDelete());
 
         lreService.logCombinedSummary();
 
         boolean success = uploaded && deleted;
 
-        if (success) historyManager.saveHistory(current);
+        if (success) historyManager.saveHistory(new SyncHistory(head.getSha(), current));
 
         return success;
     }
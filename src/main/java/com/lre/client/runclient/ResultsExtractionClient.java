@@ -3,14 +3,21 @@ package com.lre.client.runclient;
 import com.lre.client.base.BaseLreClient;
 import com.lre.client.runmodel.LreTestRunModel;
 import com.lre.common.exceptions.LreException;
+import com.lre.common.utils.JsonUtils;
+import com.lre.db.ResultsDbPreparer;
+import com.lre.db.SQLiteConnectionManager;
+import com.lre.db.SqlQueries;
 import com.lre.excel.ExcelDashboardWriter;
+import com.lre.model.enums.ExportFormat;
 import com.lre.model.enums.RunState;
+import com.lre.model.report.TxnDistribution;
 import com.lre.model.run.LreRunStatusExtended;
 import com.lre.model.test.Test;
 import com.lre.services.lre.calculation.SteadyStateCalculator;
 import com.lre.services.lre.calculation.SteadyStateResult;
 import com.lre.services.lre.execution.LreTestManager;
 import com.lre.services.lre.monitor.RunStatusMonitor;
+import com.lre.services.lre.report.export.ReportRowExporter;
 import com.lre.services.lre.report.fetcher.ReportDataService;
 import com.lre.services.lre.report.publisher.LreReportPublisher;
 import com.lre.services.lre.report.renderer.excel.ExcelDataMapper;
@@ -19,6 +26,8 @@ import com.lre.services.lre.summary.RunSummaryData;
 import com.lre.services.lre.summary.ThresholdResult;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
@@ -26,6 +35,7 @@ import java.util.Optional;
 
 import static com.lre.common.constants.ConfigConstants.*;
 import static com.lre.common.utils.CommonUtils.logTable;
+import static com.lre.common.utils.CommonUtils.parsePercentiles;
 import static com.lre.common.utils.CommonUtils.saveHtmlReport;
 
 /**
@@ -81,10 +91,35 @@ public class ResultsExtractionClient extends BaseLreClient {
         log.info("Generating Excel dashboard for Run {}", model.getRunId());
         ThresholdResult thresholds = ThresholdResult.checkThresholds(model, runStatus);
         List<ExcelDashboardWriter.Section> sections = ExcelDataMapper.createSections(model, runStatus, thresholds);
-        new ExcelReportPublisher(model.getRunId()).export(sections, reportData);
+        new ExcelReportPublisher(model.getRunId(), parsePercentiles(model.getReportPercentiles())).export(sections, reportData);
         log.info("Excel report exported successfully for Run {}", model.getRunId());
     }
 
+    /**
+     * Exports every transaction row of the results DB in the configured format. The rows are
+     * streamed from the DB to the file, so this works however large the run was.
+     */
+    public void exportTransactionRows() {
+        ExportFormat format = model.getTxnRowsExport();
+        if (format == null) return;
+        Path analysedPath = model.getAnalysedReportPath();
+        if (analysedPath == null) {
+            log.warn("Analysed report path missing for Run {}, skipping transaction rows export", model.getRunId());
+            return;
+        }
+        Path resultsDbPath = analysedPath.resolve(String.format(RESULTS_DB_FORMAT, model.getRunId()));
+        Path target = Paths.get(model.getWorkspace(), ARTIFACTS_DIR,
+                String.format(TXN_ROWS_EXPORT, model.getRunId(), format.getValue()));
+        log.info("Exporting transaction rows for Run {} as {}", model.getRunId(), format.getValue());
+        try {
+            ReportRowExporter.export(resultsDbPath, SqlQueries.TXN_METER_EXPORT_SQL, null, model.getExportFetchSize(),
+                    format, target, TRANSACTION_ROWS_SHEET_NAME);
+        } catch (LreException | SQLiteConnectionManager.SQLiteQueryException e) {
+            // Optional export; the remaining reports do not depend on it
+            log.warn("Failed to export transaction rows for Run {} to {}: {}", model.getRunId(), target, e.getMessage());
+        }
+    }
+
     private List<SteadyStateResult> calculateSteadyStateTimings() {
         SteadyStateCalculator steadyStateCalculator = new SteadyStateCalculator(test);
         return steadyStateCalculator.calculateSteadyState(reportData.runInfo().getStartTime());
@@ -124,13 +159,40 @@ public class ResultsExtractionClient extends BaseLreClient {
                 String msg = String.format("Analysed report path missing for Run %d. Call publishAnalysedReportIfFinished() first.", model.getRunId());
                 throw new LreException(msg);
             }
+            if (model.isPrepareResultsDb()) {
+                Path resultsDbPath = analysedPath.resolve(String.format(RESULTS_DB_FORMAT, model.getRunId()));
+                ResultsDbPreparer.prepare(resultsDbPath, model.isResultsDbQueryTimings());
+            }
             log.info("Fetching report data from DB for Run {}", model.getRunId());
-            reportData = ReportDataService.fetchReportData(analysedPath, model.getRunId());
+            reportData = ReportDataService.fetchReportData(analysedPath, model.getRunId(),
+                    model.isStreamingTxnStats(), model.isResultsDbInMemory());
+            saveTxnHistograms();
         } else {
             log.debug("Reusing cached report data for Run {}", model.getRunId());
         }
     }
 
+    /**
+     * Saves the transaction histograms next to the other report artifacts, so distributions can be
+     * merged across runs later without the results DB. Skipped when the SQL summary was used.
+     */
+    private void saveTxnHistograms() {
+        List<TxnDistribution> distributions = reportData.transactions().stream()
+                .filter(t -> t.histogram() != null)
+                .map(t -> new TxnDistribution(t.getScriptName(), t.getTransactionName(), t.histogram()))
+                .toList();
+        if (distributions.isEmpty()) return;
+
+        Path path = Paths.get(model.getWorkspace(), ARTIFACTS_DIR, String.format(TXN_HISTOGRAMS_JSON, model.getRunId()));
+        try {
+            Files.createDirectories(path.getParent());
+            Files.writeString(path, JsonUtils.toJson(distributions));
+            log.debug("Saved {} transaction histograms to {}", distributions.size(), path);
+        } catch (IOException e) {
+            log.warn("Failed to save transaction histograms to {}: {}", path, e.getMessage());
+        }
+    }
+
     private enum ReportType {
         ANALYSED("Analysed"),
         HTML("HTML");
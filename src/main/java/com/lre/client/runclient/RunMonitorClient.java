@@ -0,0 +1,68 @@
+package com.lre.client.runclient;
+
+import com.lre.client.base.BaseLreClient;
+import com.lre.client.runmodel.LreTestRunModel;
+import com.lre.common.exceptions.LreException;
+import com.lre.model.enums.RunState;
+import com.lre.model.run.LreRunStatusExtended;
+import com.lre.services.lre.monitor.RunMonitorHub;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Client that supervises several already started runs over one LRE session.
+ */
+@Slf4j
+public class RunMonitorClient extends BaseLreClient {
+
+    public RunMonitorClient(LreTestRunModel model) {
+        super(model);
+    }
+
+    /**
+     * Waits until every configured run has completed. Runs due for a poll at the same time share
+     * one status request.
+     *
+     * @return true when every run finished
+     */
+    public boolean monitorRuns() {
+        List<Integer> runIds = model.getMonitorRunIds();
+        if (runIds == null || runIds.isEmpty()) throw new LreException("No run IDs configured to monitor");
+
+        int timeslotMinutes = model.getTimeslotDurationHours() * 60 + model.getTimeslotDurationMinutes();
+        try (RunMonitorHub hub = new RunMonitorHub(lreRestApis, model)) {
+            Map<Integer, CompletableFuture<LreRunStatusExtended>> completions = new LinkedHashMap<>();
+            runIds.forEach(runId -> completions.put(runId, hub.track(runId, timeslotMinutes)));
+            hub.allDone().join();
+
+            boolean allFinished = true;
+            for (Map.Entry<Integer, CompletableFuture<LreRunStatusExtended>> entry : completions.entrySet()) {
+                allFinished &= logOutcome(entry.getKey(), entry.getValue());
+            }
+            log.info("Monitored {} runs with {} status requests", runIds.size(), hub.getRequestCount());
+            return allFinished;
+        }
+    }
+
+    private boolean logOutcome(int runId, CompletableFuture<LreRunStatusExtended> completion) {
+        try {
+            LreRunStatusExtended status = completion.join();
+            boolean finished = RunState.FINISHED.getValue().equalsIgnoreCase(status.getState());
+            if (finished) {
+                log.info("Run [{}] {}: state {}, {} errors, {} passed / {} failed transactions", runId, status.getTestName(),
+                        status.getState(), status.getErrors(), status.getTransPassed(), status.getTransFailed());
+            } else {
+                log.error("Run [{}] {} did not finish: last state {}", runId, status.getTestName(), status.getState());
+            }
+            return finished;
+        } catch (CompletionException e) {
+            log.error("Run [{}] monitoring failed: {}", runId, e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            return false;
+        }
+    }
+}
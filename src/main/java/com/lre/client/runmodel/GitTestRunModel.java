@@ -20,5 +20,13 @@ public class GitTestRunModel {
     private String outputDir;
     private int projectId;
     private String gitlabToken;
+    private int syncFetchThreads;
+    private int syncPackageThreads;
+    private int syncUploadThreads;
+    private int syncSpoolMaxMb;
+    private boolean treeFingerprints;
+    private boolean syncBulkArchive;
+    private boolean syncPackageCache;
+    private String scriptRoots; // comma-separated repository paths to scan, empty for the whole repository
 
 }
@@ -1,6 +1,7 @@
 package com.lre.client.runmodel;
 
 
+import com.lre.model.enums.ExportFormat;
 import com.lre.model.enums.PostRunAction;
 import lombok.Builder;
 import lombok.Getter;
@@ -8,6 +9,7 @@ import lombok.Setter;
 import lombok.ToString;
 
 import java.nio.file.Path;
+import java.util.List;
 
 @Builder
 @Getter
@@ -32,6 +34,18 @@ public class LreTestRunModel {
     private int timeslotDurationMinutes;
     private long maxErrors;
     private long maxFailedTxns;
+    private int pollMinIntervalSeconds;
+    private int pollMaxIntervalSeconds;
+    private boolean metadataCacheEnabled;
+    private boolean parallelGroupValidation;
+    private boolean compileCacheEnabled;
+    private boolean streamingTxnStats;
+    private String reportPercentiles; // comma-separated percentiles derived from the transaction histograms
+    private boolean prepareResultsDb;
+    private boolean resultsDbQueryTimings;
+    private boolean resultsDbInMemory; // copy the results DB into memory for the report queries
+    private ExportFormat txnRowsExport; // export of the raw transaction rows; null to skip
+    private int exportFetchSize;
     private String workloadType;
 
     private PostRunAction lrePostRunAction;
@@ -44,6 +58,7 @@ public class LreTestRunModel {
     private boolean runTestFromGitlab;
 
     private int runId;
+    private List<Integer> monitorRunIds; // runs supervised together by the monitor operation
     private int lreInternalRunId;
     private String dashboardUrl;
     private int timeslotId;
@@ -25,13 +25,20 @@ public class ConfigConstants {
     public static final String EXCEL_FILE = "Output/HighLevelTestResults_%d.xlsx";
 
     public static final String EMAILABLE_HTML = "LreReports/email.html";
+    public static final String TXN_HISTOGRAMS_JSON = "LreReports/txn_histograms_%d.json";
+    public static final String TXN_ROWS_EXPORT = "LreReports/txn_rows_%d.%s";
     public static final String LRE_LOG_FILE = "lre_actions_%s.log";
+    public static final String LRE_METADATA_CACHE_DIR = ".lre-cache";
+    public static final String TEST_FINGERPRINTS_DIR = "test-fingerprints";
+    public static final String COMPILED_TESTS_DIR = "compiled-tests";
 
 
     //Excel constants
     public static final String TRANSACTION_SUMMARY_SHEET_NAME = "TransactionSummary";
     public static final String STEADY_STATE_TRANSACTION_SUMMARY_SHEET_NAME = "SteadyStateTxns";
     public static final String ERROR_SUMMARY_SHEET_NAME = "ErrorSummary";
+    public static final String TXN_PERCENTILES_SHEET_NAME = "TxnPercentiles";
+    public static final String TRANSACTION_ROWS_SHEET_NAME = "TransactionRows";
     public static final String TEST_SUMMARY_SHEET_NAME = "TestSummary";
     public static final String TXN_SUMMARY_MERGE_COLUMN_NAME = "ScriptName";
 
@@ -77,7 +84,8 @@ public class ConfigConstants {
     public static final int MINUTES_PER_HOUR = 60;
     public static final int MAX_RETRIES = 3;
     public static final int RETRY_DELAY_SECONDS = 5;
-    public static final long DEFAULT_POLL_INTERVAL_SECONDS = 0;
+    public static final int DEFAULT_POLL_MIN_INTERVAL_SECONDS = 5;
+    public static final int DEFAULT_POLL_MAX_INTERVAL_SECONDS = 60;
 
 
     public static final String LRE_RUN_ID_FILE = "lre_run_id.env";
@@ -128,5 +136,9 @@ public class ConfigConstants {
     public static final String GIT_COMMIT_HISTORY_FILE = "Gitlab_Commit_History.json";
 
     public static final String COMMIT_HISTORY_ARTIFACT_PATH = ARTIFACTS_DIR + File.separator + GIT_REPO_EXTRACT_PATH + File.separator + GIT_COMMIT_HISTORY_FILE;
+    public static final String GIT_SYNC_JOURNAL_FILE = "Gitlab_Sync_Journal.jsonl";
+    public static final String SYNC_JOURNAL_ARTIFACT_PATH = ARTIFACTS_DIR + File.separator + GIT_REPO_EXTRACT_PATH + File.separator + GIT_SYNC_JOURNAL_FILE;
+    public static final String GIT_PACKAGE_CACHE_FILE = "Gitlab_Script_Package_Cache.json";
+    public static final String PACKAGE_CACHE_ARTIFACT_PATH = ARTIFACTS_DIR + File.separator + GIT_REPO_EXTRACT_PATH + File.separator + GIT_PACKAGE_CACHE_FILE;
 
 }
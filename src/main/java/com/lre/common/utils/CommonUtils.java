@@ -11,9 +11,15 @@ import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 import java.util.function.Function;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
@@ -333,6 +339,31 @@ public class CommonUtils {
     }
 
 
+    /**
+     * Parses a comma-separated list of percentiles such as {@code "50,90,99.9"} into sorted distinct
+     * values between 0 (exclusive) and 100 (inclusive), skipping invalid entries.
+     */
+    public static List<Double> parsePercentiles(String percentiles) {
+        if (StringUtils.isBlank(percentiles)) return List.of();
+        return Arrays.stream(percentiles.split(","))
+                .map(String::trim)
+                .filter(StringUtils::isNotEmpty)
+                .map(value -> {
+                    try {
+                        double percentile = Double.parseDouble(value);
+                        if (percentile > 0 && percentile <= 100) return percentile;
+                    } catch (NumberFormatException ignored) {
+                        // reported below
+                    }
+                    log.warn("Ignoring invalid percentile '{}'", value);
+                    return null;
+                })
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .toList();
+    }
+
     public static String toTitleCase(String input) {
         String[] parts = input.trim().toLowerCase(Locale.ROOT).split("\\s+");
         StringBuilder sb = new StringBuilder();
@@ -343,4 +374,16 @@ public class CommonUtils {
         return sb.toString();
     }
 
+    public static String sha256Hex(String content) {
+        return sha256Hex(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String sha256Hex(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
 }
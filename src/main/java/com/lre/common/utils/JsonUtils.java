@@ -1,20 +1,32 @@
 package com.lre.common.utils;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.lre.common.exceptions.LreException;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 @Slf4j
 @UtilityClass
 public class JsonUtils {
     private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Map<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
     static {
         MAPPER.registerModule(new JavaTimeModule());
         MAPPER.disable(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
@@ -31,6 +43,15 @@ public class JsonUtils {
         }
     }
 
+    public static <T> T fromJson(String json, TypeReference<T> valueType) {
+        try {
+            return MAPPER.readValue(json, valueType);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to deserialize JSON to {}: {}", valueType.getType().getTypeName(), e.getMessage());
+            throw new LreException("JSON deserialization error", e);
+        }
+    }
+
     public static String toJson(Object object) {
         try {
             return MAPPER.writeValueAsString(object);
@@ -40,6 +61,60 @@ public class JsonUtils {
         }
     }
 
+    /**
+     * Deserializes directly from a stream using a cached reader.
+     */
+    public static <T> T fromJson(InputStream json, Class<T> valueType) {
+        try {
+            return readerFor(valueType).readValue(json);
+        } catch (IOException e) {
+            log.error("Failed to deserialize JSON stream to {}: {}", valueType.getSimpleName(), e.getMessage());
+            throw new LreException("JSON deserialization error", e);
+        }
+    }
+
+    /**
+     * Deserializes a JSON array directly from a stream using a cached reader.
+     */
+    public static <T> List<T> fromJsonArray(InputStream json, Class<T> clazz) {
+        List<T> items = new ArrayList<>();
+        forEachInArray(json, clazz, items::add);
+        return items;
+    }
+
+    /**
+     * Streams a JSON array element by element, so the full list is never held in memory.
+     */
+    public static <T> void forEachInArray(InputStream json, Class<T> clazz, Consumer<T> consumer) {
+        try (JsonParser parser = createParser(json)) {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.VALUE_NULL) return;
+            if (token != JsonToken.START_ARRAY) {
+                throw new LreException("Expected JSON array for " + clazz.getSimpleName() + " but got " + token);
+            }
+            if (parser.nextToken() == JsonToken.END_ARRAY) return;
+            try (MappingIterator<T> iterator = readerFor(clazz).readValues(parser)) {
+                while (iterator.hasNextValue()) {
+                    consumer.accept(iterator.nextValue());
+                }
+            }
+        } catch (IOException e) {
+            log.error("Failed to deserialize JSON array stream to {}: {}", clazz.getSimpleName(), e.getMessage());
+            throw new LreException("JSON array deserialization error", e);
+        }
+    }
+
+    /**
+     * Creates a low-level streaming parser, for callers that only need a few fields of a large payload.
+     */
+    public static JsonParser createParser(InputStream json) throws IOException {
+        return MAPPER.getFactory().createParser(json);
+    }
+
+    private static ObjectReader readerFor(Class<?> clazz) {
+        return READERS.computeIfAbsent(clazz, MAPPER::readerFor);
+    }
+
     public static <T> List<T> fromJsonArray(String json, Class<T> clazz) {
         try {
             JavaType type = MAPPER.getTypeFactory().constructCollectionType(List.class, clazz);
@@ -6,6 +6,7 @@ import com.lre.client.runmodel.LreTestRunModel;
 import com.lre.common.utils.CommonUtils;
 import com.lre.common.utils.ReportPathUtils;
 import com.lre.common.utils.TestFileHelper;
+import com.lre.model.enums.ExportFormat;
 import com.lre.model.enums.PostRunAction;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -13,6 +14,8 @@ import org.apache.commons.lang3.StringUtils;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import static com.lre.common.constants.ConfigConstants.*;
@@ -46,11 +49,24 @@ public class ConfigMapper {
                 .runTestFromGitlab((Boolean) params.get(ParameterDefinitions.Keys.RUN_LRE_TEST_FROM_GITLAB_FLAG))
                 .maxErrors((Long) params.get(ParameterDefinitions.Keys.MAX_ERROR_COUNT))
                 .maxFailedTxns((Long) params.get(ParameterDefinitions.Keys.MAX_FAILED_TXN_COUNT))
+                .pollMinIntervalSeconds((Integer) params.get(ParameterDefinitions.Keys.LRE_POLL_MIN_INTERVAL_SECONDS))
+                .pollMaxIntervalSeconds((Integer) params.get(ParameterDefinitions.Keys.LRE_POLL_MAX_INTERVAL_SECONDS))
+                .metadataCacheEnabled((Boolean) params.get(ParameterDefinitions.Keys.LRE_METADATA_CACHE))
+                .parallelGroupValidation((Boolean) params.get(ParameterDefinitions.Keys.LRE_PARALLEL_GROUP_VALIDATION))
+                .compileCacheEnabled((Boolean) params.get(ParameterDefinitions.Keys.LRE_COMPILE_CACHE))
+                .streamingTxnStats((Boolean) params.get(ParameterDefinitions.Keys.LRE_STREAMING_TXN_STATS))
+                .reportPercentiles((String) params.get(ParameterDefinitions.Keys.LRE_REPORT_PERCENTILES))
+                .prepareResultsDb((Boolean) params.get(ParameterDefinitions.Keys.LRE_PREPARE_RESULTS_DB))
+                .resultsDbQueryTimings((Boolean) params.get(ParameterDefinitions.Keys.LRE_RESULTS_DB_QUERY_TIMINGS))
+                .resultsDbInMemory((Boolean) params.get(ParameterDefinitions.Keys.LRE_RESULTS_DB_IN_MEMORY))
+                .txnRowsExport(parseExportFormat(params))
+                .exportFetchSize((Integer) params.get(ParameterDefinitions.Keys.LRE_EXPORT_FETCH_SIZE))
                 .existingTest(false)
                 .testContentToCreate(null)
                 .testFolderPath(null)
                 .testId(0)
                 .runId((int) params.get(ParameterDefinitions.Keys.LRE_RUN_ID))
+                .monitorRunIds(parseRunIds(params))
                 .lreInternalRunId(0)
                 .dashboardUrl(null)
                 .timeslotId(0)
@@ -70,6 +86,14 @@ public class ConfigMapper {
                 .outputDir((String) params.get(ParameterDefinitions.Keys.GITLAB_OUTPUT_DIR))
                 .projectId((Integer) params.get(ParameterDefinitions.Keys.GITLAB_PROJECT_ID))
                 .gitlabToken((String) params.get(ParameterDefinitions.Keys.GITLAB_TOKEN))
+                .syncFetchThreads((Integer) params.get(ParameterDefinitions.Keys.GITLAB_SYNC_FETCH_THREADS))
+                .syncPackageThreads((Integer) params.get(ParameterDefinitions.Keys.GITLAB_SYNC_PACKAGE_THREADS))
+                .syncUploadThreads((Integer) params.get(ParameterDefinitions.Keys.GITLAB_SYNC_UPLOAD_THREADS))
+                .syncSpoolMaxMb((Integer) params.get(ParameterDefinitions.Keys.GITLAB_SYNC_SPOOL_MAX_MB))
+                .treeFingerprints((Boolean) params.get(ParameterDefinitions.Keys.GITLAB_TREE_FINGERPRINTS))
+                .syncBulkArchive((Boolean) params.get(ParameterDefinitions.Keys.GITLAB_SYNC_BULK_ARCHIVE))
+                .syncPackageCache((Boolean) params.get(ParameterDefinitions.Keys.GITLAB_SYNC_PACKAGE_CACHE))
+                .scriptRoots((String) params.get(ParameterDefinitions.Keys.GITLAB_SCRIPT_ROOTS))
                 .build();
     }
 
@@ -105,6 +129,33 @@ public class ConfigMapper {
         }
     }
 
+    private List<Integer> parseRunIds(Map<String, Object> params) {
+        String value = String.valueOf(params.get(ParameterDefinitions.Keys.LRE_MONITOR_RUN_IDS));
+        List<Integer> runIds = new ArrayList<>();
+        for (String token : value.split(",")) {
+            String trimmed = token.trim();
+            if (trimmed.isEmpty() || trimmed.equals("null")) continue;
+            try {
+                runIds.add(Integer.parseInt(trimmed));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring invalid run ID '{}' in {}", trimmed, ParameterDefinitions.Keys.LRE_MONITOR_RUN_IDS);
+            }
+        }
+        return List.copyOf(runIds);
+    }
+
+    private ExportFormat parseExportFormat(Map<String, Object> params) {
+        String value = String.valueOf(params.get(ParameterDefinitions.Keys.LRE_TXN_ROWS_EXPORT)).trim();
+        if (value.isEmpty() || value.equals("null")) return null;
+        try {
+            return ExportFormat.fromValue(value);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid {} '{}', expected csv, xlsx or html; skipping the export",
+                    ParameterDefinitions.Keys.LRE_TXN_ROWS_EXPORT, value);
+            return null;
+        }
+    }
+
     private void resolveTestDetails(Map<String, Object> params, LreTestRunModel.LreTestRunModelBuilder builder) {
         String testValue = (String) params.get(ParameterDefinitions.Keys.LRE_TEST);
         Path workspacePath = Paths.get((String) params.get(ParameterDefinitions.Keys.LRE_OUTPUT_DIR)).toAbsolutePath().normalize();
@@ -30,13 +30,14 @@ public record ConfigParser(ParameterResolver resolver, Operation operation) {
         boolean syncGitlab = operation == Operation.SYNC_GITLAB_WITH_LRE;
         boolean sendEmail = operation == Operation.SEND_EMAIL;
         boolean requiresRunId = operation == Operation.EXTRACT_RESULTS;
+        boolean monitorRuns = operation == Operation.MONITOR_RUNS;
 
         // -------------------------
         // Second pass: conditional parameters
         // -------------------------
         for (ParameterDefinitions.ConfigParameter<?> def : definitions) {
             if (def.conditional()) {
-                boolean required = isRequired(def, sendEmail, syncGitlab, requiresRunId);
+                boolean required = isRequired(def, sendEmail, syncGitlab, requiresRunId, monitorRuns);
 
                 parseAndPut(params, def, required);
             }
@@ -49,7 +50,8 @@ public record ConfigParser(ParameterResolver resolver, Operation operation) {
     private static boolean isRequired(ParameterDefinitions.ConfigParameter<?> def,
                                       boolean sendEmail,
                                       boolean syncGitlab,
-                                      boolean requiresRunId) {
+                                      boolean requiresRunId,
+                                      boolean monitorRuns) {
 
         return switch (def.key()) {
             case ParameterDefinitions.Keys.EMAIL_SMTP_HOST,
@@ -61,6 +63,7 @@ public record ConfigParser(ParameterResolver resolver, Operation operation) {
             case ParameterDefinitions.Keys.GITLAB_TOKEN,
                  ParameterDefinitions.Keys.GITLAB_PROJECT_ID -> syncGitlab;     // GitLab logic
             case ParameterDefinitions.Keys.LRE_RUN_ID -> requiresRunId;         // Run ID required for EXTRACT_RESULTS
+            case ParameterDefinitions.Keys.LRE_MONITOR_RUN_IDS -> monitorRuns;  // Run IDs required for MONITOR_RUNS
             default -> def.required();                                          // Everything else follows definition
         };
     }
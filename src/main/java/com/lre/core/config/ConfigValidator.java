@@ -1,5 +1,6 @@
 package com.lre.core.config;
 
+import com.lre.common.utils.CommonUtils;
 import lombok.extern.slf4j.Slf4j;
 import java.util.ArrayList;
 import java.util.List;
@@ -40,6 +41,28 @@ public record ConfigValidator(ParameterResolver resolver) {
 
     private void validateParameterValues(Map<String, Object> params) {
         validateTimeslotParameters(params);
+        validatePollIntervalParameters(params);
+        validateSyncParameters(params);
+        validateReportPercentiles(params);
+        validateExportFetchSize(params);
+    }
+
+    private void validateReportPercentiles(Map<String, Object> params) {
+        String percentiles = (String) params.get(ParameterDefinitions.Keys.LRE_REPORT_PERCENTILES);
+        if (CommonUtils.parsePercentiles(percentiles).isEmpty()) {
+            log.warn("Invalid {}: '{}'. Using default {}.", ParameterDefinitions.Keys.LRE_REPORT_PERCENTILES,
+                    percentiles, ParameterDefinitions.Defaults.LRE_REPORT_PERCENTILES);
+            params.put(ParameterDefinitions.Keys.LRE_REPORT_PERCENTILES, ParameterDefinitions.Defaults.LRE_REPORT_PERCENTILES);
+        }
+    }
+
+    private void validateExportFetchSize(Map<String, Object> params) {
+        Integer fetchSize = (Integer) params.get(ParameterDefinitions.Keys.LRE_EXPORT_FETCH_SIZE);
+        if (fetchSize == null || fetchSize <= 0) {
+            log.warn("Invalid {}: {}. Using default {}.", ParameterDefinitions.Keys.LRE_EXPORT_FETCH_SIZE,
+                    fetchSize, ParameterDefinitions.Defaults.LRE_EXPORT_FETCH_SIZE);
+            params.put(ParameterDefinitions.Keys.LRE_EXPORT_FETCH_SIZE, ParameterDefinitions.Defaults.LRE_EXPORT_FETCH_SIZE);
+        }
     }
 
     private void validateTimeslotParameters(Map<String, Object> params) {
@@ -52,4 +75,37 @@ public record ConfigValidator(ParameterResolver resolver) {
             params.put(ParameterDefinitions.Keys.LRE_TIMESLOT_DURATION_MINUTES, ParameterDefinitions.Defaults.LRE_TIMESLOT_DURATION_MINUTES);
         }
     }
-}
\ No newline at end of file
+
+    private void validatePollIntervalParameters(Map<String, Object> params) {
+        Integer min = (Integer) params.get(ParameterDefinitions.Keys.LRE_POLL_MIN_INTERVAL_SECONDS);
+        Integer max = (Integer) params.get(ParameterDefinitions.Keys.LRE_POLL_MAX_INTERVAL_SECONDS);
+
+        if (min <= 0 || max <= 0 || min > max) {
+            log.warn("Invalid poll interval bounds: min {}s, max {}s. Using defaults.", min, max);
+            params.put(ParameterDefinitions.Keys.LRE_POLL_MIN_INTERVAL_SECONDS, ParameterDefinitions.Defaults.LRE_POLL_MIN_INTERVAL_SECONDS);
+            params.put(ParameterDefinitions.Keys.LRE_POLL_MAX_INTERVAL_SECONDS, ParameterDefinitions.Defaults.LRE_POLL_MAX_INTERVAL_SECONDS);
+        }
+    }
+
+    private void validateSyncParameters(Map<String, Object> params) {
+        Map<String, Integer> defaults = Map.of(
+                ParameterDefinitions.Keys.GITLAB_SYNC_FETCH_THREADS, ParameterDefinitions.Defaults.GITLAB_SYNC_FETCH_THREADS,
+                ParameterDefinitions.Keys.GITLAB_SYNC_PACKAGE_THREADS, ParameterDefinitions.Defaults.GITLAB_SYNC_PACKAGE_THREADS,
+                ParameterDefinitions.Keys.GITLAB_SYNC_UPLOAD_THREADS, ParameterDefinitions.Defaults.GITLAB_SYNC_UPLOAD_THREADS);
+
+        defaults.forEach((key, defaultValue) -> {
+            Integer threads = (Integer) params.get(key);
+            if (threads == null || threads < 1) {
+                log.warn("Invalid {}: {}. Using default {}.", key, threads, defaultValue);
+                params.put(key, defaultValue);
+            }
+        });
+
+        Integer spoolMaxMb = (Integer) params.get(ParameterDefinitions.Keys.GITLAB_SYNC_SPOOL_MAX_MB);
+        if (spoolMaxMb == null || spoolMaxMb < 0) {
+            log.warn("Invalid {}: {}. Using default {}.", ParameterDefinitions.Keys.GITLAB_SYNC_SPOOL_MAX_MB,
+                    spoolMaxMb, ParameterDefinitions.Defaults.GITLAB_SYNC_SPOOL_MAX_MB);
+            params.put(ParameterDefinitions.Keys.GITLAB_SYNC_SPOOL_MAX_MB, ParameterDefinitions.Defaults.GITLAB_SYNC_SPOOL_MAX_MB);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.lre.core.config;
 
+import com.lre.common.constants.ConfigConstants;
 import lombok.experimental.UtilityClass;
 
 import java.util.Arrays;
@@ -34,6 +35,19 @@ public class ParameterDefinitions {
         public static final long MAX_ERROR_COUNT = 5000;
         public static final long MAX_FAILED_TXN_COUNT = 100;
         public static final int LRE_RUN_ID = 0;
+        public static final int LRE_POLL_MIN_INTERVAL_SECONDS = ConfigConstants.DEFAULT_POLL_MIN_INTERVAL_SECONDS;
+        public static final int LRE_POLL_MAX_INTERVAL_SECONDS = ConfigConstants.DEFAULT_POLL_MAX_INTERVAL_SECONDS;
+        public static final boolean LRE_METADATA_CACHE = true;
+        public static final boolean LRE_PARALLEL_GROUP_VALIDATION = true;
+        public static final boolean LRE_COMPILE_CACHE = true;
+        public static final boolean LRE_STREAMING_TXN_STATS = true;
+        public static final String LRE_REPORT_PERCENTILES = "50,75,90,95,99,99.9";
+        public static final boolean LRE_PREPARE_RESULTS_DB = true;
+        public static final boolean LRE_RESULTS_DB_QUERY_TIMINGS = false;
+        public static final boolean LRE_RESULTS_DB_IN_MEMORY = false;
+        public static final String LRE_TXN_ROWS_EXPORT = "";
+        public static final int LRE_EXPORT_FETCH_SIZE = 1000;
+        public static final String LRE_MONITOR_RUN_IDS = "";
 
 
         // GitLab Parameters
@@ -44,6 +58,14 @@ public class ParameterDefinitions {
         public static final String GITLAB_OUTPUT_DIR = System.getProperty("user.dir");
         public static final int GITLAB_PROJECT_ID = 0;
         public static final String GITLAB_TOKEN = "";
+        public static final int GITLAB_SYNC_FETCH_THREADS = 4;
+        public static final int GITLAB_SYNC_PACKAGE_THREADS = 2;
+        public static final int GITLAB_SYNC_UPLOAD_THREADS = 4;
+        public static final int GITLAB_SYNC_SPOOL_MAX_MB = 8;
+        public static final boolean GITLAB_TREE_FINGERPRINTS = true;
+        public static final boolean GITLAB_SYNC_BULK_ARCHIVE = true;
+        public static final boolean GITLAB_SYNC_PACKAGE_CACHE = true;
+        public static final String GITLAB_SCRIPT_ROOTS = "";
 
         // Email Parameters
         public static final boolean SEND_EMAIL_FLAG = false;
@@ -86,6 +108,19 @@ public class ParameterDefinitions {
         public static final String MAX_ERROR_COUNT = "max_error_count";
         public static final String MAX_FAILED_TXN_COUNT = "max_failed_txn_count";
         public static final String LRE_RUN_ID = "lre_run_id";
+        public static final String LRE_POLL_MIN_INTERVAL_SECONDS = "lre_poll_min_interval_seconds";
+        public static final String LRE_POLL_MAX_INTERVAL_SECONDS = "lre_poll_max_interval_seconds";
+        public static final String LRE_METADATA_CACHE = "lre_metadata_cache";
+        public static final String LRE_PARALLEL_GROUP_VALIDATION = "lre_parallel_group_validation";
+        public static final String LRE_COMPILE_CACHE = "lre_compile_cache";
+        public static final String LRE_STREAMING_TXN_STATS = "lre_streaming_txn_stats";
+        public static final String LRE_REPORT_PERCENTILES = "lre_report_percentiles";
+        public static final String LRE_PREPARE_RESULTS_DB = "lre_prepare_results_db";
+        public static final String LRE_RESULTS_DB_QUERY_TIMINGS = "lre_results_db_query_timings";
+        public static final String LRE_RESULTS_DB_IN_MEMORY = "lre_results_db_in_memory";
+        public static final String LRE_TXN_ROWS_EXPORT = "lre_txn_rows_export";
+        public static final String LRE_EXPORT_FETCH_SIZE = "lre_export_fetch_size";
+        public static final String LRE_MONITOR_RUN_IDS = "lre_monitor_run_ids";
 
         // GitLab Parameters
         public static final String SYNC_GITLAB_WITH_LRE_FLAG = "sync_gitlab_with_lre_flag";
@@ -95,6 +130,14 @@ public class ParameterDefinitions {
         public static final String GITLAB_TOKEN = "gitlab_token";
         public static final String GITLAB_OUTPUT_DIR = "gitlab_output_dir";
         public static final String GITLAB_PROJECT_ID = "gitlab_project_id";
+        public static final String GITLAB_SYNC_FETCH_THREADS = "gitlab_sync_fetch_threads";
+        public static final String GITLAB_SYNC_PACKAGE_THREADS = "gitlab_sync_package_threads";
+        public static final String GITLAB_SYNC_UPLOAD_THREADS = "gitlab_sync_upload_threads";
+        public static final String GITLAB_SYNC_SPOOL_MAX_MB = "gitlab_sync_spool_max_mb";
+        public static final String GITLAB_TREE_FINGERPRINTS = "gitlab_tree_fingerprints";
+        public static final String GITLAB_SYNC_BULK_ARCHIVE = "gitlab_sync_bulk_archive";
+        public static final String GITLAB_SYNC_PACKAGE_CACHE = "gitlab_sync_package_cache";
+        public static final String GITLAB_SCRIPT_ROOTS = "gitlab_script_roots";
 
 
 
@@ -150,7 +193,20 @@ public class ParameterDefinitions {
                 new ConfigParameter<>(Keys.MAX_ERROR_COUNT, false, Defaults.MAX_ERROR_COUNT),
                 new ConfigParameter<>(Keys.MAX_FAILED_TXN_COUNT, false, Defaults.MAX_FAILED_TXN_COUNT),
                 new ConfigParameter<>(Keys.VIRTUAL_USER_FLEX_DAYS_AMOUNT, false, Defaults.VIRTUAL_USER_FLEX_DAYS_AMOUNT),
-                new ConfigParameter<>(Keys.LRE_RUN_ID, false, Defaults.LRE_RUN_ID, true)
+                new ConfigParameter<>(Keys.LRE_POLL_MIN_INTERVAL_SECONDS, false, Defaults.LRE_POLL_MIN_INTERVAL_SECONDS),
+                new ConfigParameter<>(Keys.LRE_POLL_MAX_INTERVAL_SECONDS, false, Defaults.LRE_POLL_MAX_INTERVAL_SECONDS),
+                new ConfigParameter<>(Keys.LRE_METADATA_CACHE, false, Defaults.LRE_METADATA_CACHE),
+                new ConfigParameter<>(Keys.LRE_PARALLEL_GROUP_VALIDATION, false, Defaults.LRE_PARALLEL_GROUP_VALIDATION),
+                new ConfigParameter<>(Keys.LRE_COMPILE_CACHE, false, Defaults.LRE_COMPILE_CACHE),
+                new ConfigParameter<>(Keys.LRE_STREAMING_TXN_STATS, false, Defaults.LRE_STREAMING_TXN_STATS),
+                new ConfigParameter<>(Keys.LRE_REPORT_PERCENTILES, false, Defaults.LRE_REPORT_PERCENTILES),
+                new ConfigParameter<>(Keys.LRE_PREPARE_RESULTS_DB, false, Defaults.LRE_PREPARE_RESULTS_DB),
+                new ConfigParameter<>(Keys.LRE_RESULTS_DB_QUERY_TIMINGS, false, Defaults.LRE_RESULTS_DB_QUERY_TIMINGS),
+                new ConfigParameter<>(Keys.LRE_RESULTS_DB_IN_MEMORY, false, Defaults.LRE_RESULTS_DB_IN_MEMORY),
+                new ConfigParameter<>(Keys.LRE_TXN_ROWS_EXPORT, false, Defaults.LRE_TXN_ROWS_EXPORT),
+                new ConfigParameter<>(Keys.LRE_EXPORT_FETCH_SIZE, false, Defaults.LRE_EXPORT_FETCH_SIZE),
+                new ConfigParameter<>(Keys.LRE_RUN_ID, false, Defaults.LRE_RUN_ID, true),
+                new ConfigParameter<>(Keys.LRE_MONITOR_RUN_IDS, false, Defaults.LRE_MONITOR_RUN_IDS, true)
         );
 
         // GitLab Parameters
@@ -161,7 +217,15 @@ public class ParameterDefinitions {
                 new ConfigParameter<>(Keys.GITLAB_SERVER, false, Defaults.GITLAB_SERVER),
                 new ConfigParameter<>(Keys.GITLAB_BRANCH, false, Defaults.GITLAB_BRANCH),
                 new ConfigParameter<>(Keys.GITLAB_JOB_NAME, false, Defaults.GITLAB_JOB_NAME),
-                new ConfigParameter<>(Keys.GITLAB_OUTPUT_DIR, false, Defaults.GITLAB_OUTPUT_DIR)
+                new ConfigParameter<>(Keys.GITLAB_OUTPUT_DIR, false, Defaults.GITLAB_OUTPUT_DIR),
+                new ConfigParameter<>(Keys.GITLAB_SYNC_FETCH_THREADS, false, Defaults.GITLAB_SYNC_FETCH_THREADS),
+                new ConfigParameter<>(Keys.GITLAB_SYNC_PACKAGE_THREADS, false, Defaults.GITLAB_SYNC_PACKAGE_THREADS),
+                new ConfigParameter<>(Keys.GITLAB_SYNC_UPLOAD_THREADS, false, Defaults.GITLAB_SYNC_UPLOAD_THREADS),
+                new ConfigParameter<>(Keys.GITLAB_SYNC_SPOOL_MAX_MB, false, Defaults.GITLAB_SYNC_SPOOL_MAX_MB),
+                new ConfigParameter<>(Keys.GITLAB_TREE_FINGERPRINTS, false, Defaults.GITLAB_TREE_FINGERPRINTS),
+                new ConfigParameter<>(Keys.GITLAB_SYNC_BULK_ARCHIVE, false, Defaults.GITLAB_SYNC_BULK_ARCHIVE),
+                new ConfigParameter<>(Keys.GITLAB_SYNC_PACKAGE_CACHE, false, Defaults.GITLAB_SYNC_PACKAGE_CACHE),
+                new ConfigParameter<>(Keys.GITLAB_SCRIPT_ROOTS, false, Defaults.GITLAB_SCRIPT_ROOTS)
         );
 
 
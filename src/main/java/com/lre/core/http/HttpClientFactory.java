@@ -24,20 +24,19 @@ public class HttpClientFactory {
     private static final int MAX_CONNECTIONS_TOTAL = 100;
     private static final int MAX_CONNECTIONS_PER_ROUTE = 20;
 
-    public static CloseableHttpClient createHttpClient(SSLContext sslContext, List<Header> defaultHeaders) {
-        try {
-            PoolingHttpClientConnectionManager cm = buildConnectionManager(sslContext);
-
-            return defaultHeaders != null && !defaultHeaders.isEmpty()
-                    ? HttpClients.custom().setConnectionManager(cm).setDefaultHeaders(defaultHeaders).build()
-                    : HttpClients.custom().setConnectionManager(cm).build();
-
-        } catch (Exception e) {
-            return HttpClients.createDefault();
-        }
+    /**
+     * Creates a client on top of a connection manager owned by someone else.
+     * Closing the client leaves the connection manager and its pooled connections open.
+     */
+    public static CloseableHttpClient createSharedHttpClient(PoolingHttpClientConnectionManager cm, List<Header> defaultHeaders) {
+        var builder = HttpClients.custom()
+                .setConnectionManager(cm)
+                .setConnectionManagerShared(true);
+        if (defaultHeaders != null && !defaultHeaders.isEmpty()) builder.setDefaultHeaders(defaultHeaders);
+        return builder.build();
     }
 
-    private static PoolingHttpClientConnectionManager buildConnectionManager(SSLContext sslContext) {
+    public static PoolingHttpClientConnectionManager buildConnectionManager(SSLContext sslContext) {
         return PoolingHttpClientConnectionManagerBuilder.create()
                 .setTlsSocketStrategy(new DefaultClientTlsStrategy(sslContext))
                 .setMaxConnTotal(MAX_CONNECTIONS_TOTAL)
@@ -0,0 +1,151 @@
+package com.lre.core.http;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.ssl.SSLContexts;
+
+import javax.net.ssl.SSLContext;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide registry of HTTP clients.
+ * <p>
+ * All clients share one connection pool and one SSL context (so TLS sessions are resumed), and a
+ * client is reused by every caller that talks to the same base URL with the same credentials.
+ * Chained operations such as {@code run extract sendemail} therefore keep their warm connections
+ * and session cookies. Released clients stay open until {@link #closeAll()}.
+ */
+@Slf4j
+@UtilityClass
+public class HttpClientRegistry {
+
+    private static final Map<String, SharedClient> CLIENTS = new ConcurrentHashMap<>();
+    private static volatile PoolingHttpClientConnectionManager connectionManager;
+
+    /**
+     * Returns the shared client for an LRE server and user.
+     */
+    public static CloseableHttpClient acquire(String baseUrl, String username, String password) {
+        return acquire(registryKey(baseUrl, username + ":" + password), null);
+    }
+
+    /**
+     * Returns the shared client for a GitLab server and access token.
+     */
+    public static CloseableHttpClient acquireWithToken(String baseUrl, String token) {
+        return acquire(registryKey(baseUrl, token), HttpClientUtils.tokenHeaders(token));
+    }
+
+    /**
+     * Releases a client obtained from this registry. The client stays pooled for later callers.
+     */
+    public static void release(CloseableHttpClient client) {
+        CLIENTS.values().stream()
+                .filter(shared -> shared.client == client)
+                .findFirst()
+                .ifPresent(shared -> {
+                    int users = shared.release();
+                    log.debug("Released shared HTTP client ({} users left). Pool: {}", users, describePoolStats());
+                });
+    }
+
+    /**
+     * Statistics of the shared connection pool (leased, available, pending and max connections).
+     */
+    public static PoolStats getPoolStats() {
+        PoolingHttpClientConnectionManager cm = connectionManager;
+        return cm != null ? cm.getTotalStats() : new PoolStats(0, 0, 0, 0);
+    }
+
+    public static String describePoolStats() {
+        PoolStats stats = getPoolStats();
+        return String.format("leased=%d, available=%d, pending=%d, max=%d",
+                stats.getLeased(), stats.getAvailable(), stats.getPending(), stats.getMax());
+    }
+
+    /**
+     * Closes every shared client and the connection pool.
+     */
+    public static synchronized void closeAll() {
+        CLIENTS.values().forEach(shared -> shared.client.close(CloseMode.GRACEFUL));
+        CLIENTS.clear();
+        if (connectionManager != null) {
+            log.debug("Closing shared connection pool ({})", describePoolStats());
+            connectionManager.close(CloseMode.GRACEFUL);
+            connectionManager = null;
+        }
+    }
+
+    private static CloseableHttpClient acquire(String key, List<Header> defaultHeaders) {
+        SharedClient shared = CLIENTS.compute(key, (k, existing) -> {
+            SharedClient result = existing != null
+                    ? existing
+                    : new SharedClient(HttpClientFactory.createSharedHttpClient(getConnectionManager(), defaultHeaders));
+            result.acquire();
+            return result;
+        });
+        log.debug("Acquired shared HTTP client ({} users). Pool: {}", shared.users, describePoolStats());
+        return shared.client;
+    }
+
+    private static synchronized PoolingHttpClientConnectionManager getConnectionManager() {
+        if (connectionManager == null) {
+            connectionManager = HttpClientFactory.buildConnectionManager(loadSslContext());
+        }
+        return connectionManager;
+    }
+
+    private static SSLContext loadSslContext() {
+        try {
+            return HttpClientUtils.getSslContext(HttpClientUtils.CA_CERT_PATH);
+        } catch (Exception e) {
+            log.warn("Failed to load CA: {}. Using system default SSL context. Error: {}",
+                    HttpClientUtils.CA_CERT_PATH, e.getMessage());
+            log.debug("SSL context creation failure details:", e);
+            return SSLContexts.createSystemDefault();
+        }
+    }
+
+    /**
+     * Builds the registry key from the base URL and a digest of the credentials,
+     * so secrets are never kept in plain text as map keys.
+     */
+    private static String registryKey(String baseUrl, String credentials) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(String.valueOf(credentials).getBytes(StandardCharsets.UTF_8));
+            return baseUrl + "#" + HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class SharedClient {
+        private final CloseableHttpClient client;
+        private int users;
+
+        private SharedClient(CloseableHttpClient client) {
+            this.client = client;
+        }
+
+        private synchronized void acquire() {
+            users++;
+        }
+
+        private synchronized int release() {
+            users = Math.max(0, users - 1);
+            return users;
+        }
+    }
+}
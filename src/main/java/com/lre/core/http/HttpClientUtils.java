@@ -1,8 +1,6 @@
 package com.lre.core.http;
 
 import lombok.extern.slf4j.Slf4j;
-import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
-import org.apache.hc.client5.http.impl.classic.HttpClients;
 import org.apache.hc.core5.http.Header;
 import org.apache.hc.core5.http.message.BasicHeader;
 
@@ -10,48 +8,43 @@ import javax.net.ssl.SSLContext;
 import java.security.cert.Certificate;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 public class HttpClientUtils {
-    private static final String CA_CERT_PATH = System.getProperty("http.client.ca.path", "ca.pem");
+    static final String CA_CERT_PATH = System.getProperty("http.client.ca.path", "ca.pem");
+
+    // TLS sessions are cached per SSLContext, so reusing it enables session resumption
+    private static final int TLS_SESSION_CACHE_SIZE = 100;
+    private static final int TLS_SESSION_TIMEOUT_SECONDS = 3600;
+    private static final Map<String, SSLContext> SSL_CONTEXTS = new ConcurrentHashMap<>();
 
     private HttpClientUtils() {
         throw new UnsupportedOperationException("Utility class cannot be instantiated");
     }
 
-    /** Default client without token */
-    public static CloseableHttpClient createClient() {
-        return createClient(CA_CERT_PATH, null);
-    }
-
-    /** Client with optional token */
-    public static CloseableHttpClient createClient(String caCertPath, String gitlabToken) {
-        try {
-            CertificateLoader certLoader = new CertificateLoader(caCertPath);
-            Collection<? extends Certificate> certs = certLoader.loadCertificates();
+    /**
+     * Returns the SSL context trusting the given CA file.
+     * Certificates are loaded and the context is built only once per path.
+     */
+    public static SSLContext getSslContext(String caCertPath) {
+        return SSL_CONTEXTS.computeIfAbsent(caCertPath, path -> {
+            Collection<? extends Certificate> certs = new CertificateLoader(path).loadCertificates();
             SSLContext sslContext = SslContextProvider.buildSslContext(certs);
-
-            List<Header> headers = null;
-            if (gitlabToken != null && !gitlabToken.isEmpty()) {
-                headers = List.of(
-                        new BasicHeader("Authorization", "Bearer " + gitlabToken),
-                        new BasicHeader("Content-Type", "application/json")
-                );
-            }
-
-            return HttpClientFactory.createHttpClient(sslContext, headers);
-
-        } catch (Exception e) {
-            log.warn("Failed to create secure HttpClient with CA: {}. Using default insecure client. Error: {}",
-                    caCertPath, e.getMessage());
-            log.debug("SSL context creation failure details:", e);
-            return HttpClients.createDefault();
-        }
+            sslContext.getClientSessionContext().setSessionCacheSize(TLS_SESSION_CACHE_SIZE);
+            sslContext.getClientSessionContext().setSessionTimeout(TLS_SESSION_TIMEOUT_SECONDS);
+            log.debug("Loaded {} CA certificates from {}", certs.size(), path);
+            return sslContext;
+        });
     }
 
-    /** Convenience method for GitLab token only */
-    public static CloseableHttpClient createClientWithToken(String gitlabToken) {
-        return createClient(CA_CERT_PATH, gitlabToken);
+    static List<Header> tokenHeaders(String gitlabToken) {
+        if (gitlabToken == null || gitlabToken.isEmpty()) return null;
+        return List.of(
+                new BasicHeader("Authorization", "Bearer " + gitlabToken),
+                new BasicHeader("Content-Type", "application/json")
+        );
     }
 
-}
\ No newline at end of file
+}
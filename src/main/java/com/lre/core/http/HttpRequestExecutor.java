@@ -4,6 +4,8 @@ import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.Header;
 import org.apache.hc.core5.http.HttpEntity;
 import org.apache.hc.core5.http.ParseException;
 import org.apache.hc.core5.http.io.support.ClassicRequestBuilder;
@@ -13,6 +15,7 @@ import com.lre.common.exceptions.LreException;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.function.Function;
 
@@ -31,6 +34,53 @@ public class HttpRequestExecutor {
         });
     }
 
+    /**
+     * Reads the response body from its stream without buffering it as a String first.
+     */
+    @FunctionalInterface
+    public interface ContentReader<T> {
+        T read(InputStream content) throws IOException;
+    }
+
+    public static <T> T sendRequest(CloseableHttpClient httpClient, ClassicRequestBuilder requestBuilder,
+                                    ContentReader<T> contentReader) {
+        log.debug("Sending request to: {}", requestBuilder.getUri());
+        return executeRequest(httpClient, requestBuilder, entity -> {
+            if (entity == null) return null;
+            try (InputStream content = entity.getContent()) {
+                log.debug("Streaming response from {} ({} bytes)", requestBuilder.getUri(), entity.getContentLength());
+                return contentReader.read(content);
+            } catch (IOException e) {
+                throw new LreException("Error reading response content from " + requestBuilder.getUri(), e);
+            }
+        });
+    }
+
+    /**
+     * Like {@link ContentReader}, with access to the response headers by name.
+     */
+    @FunctionalInterface
+    public interface ResponseReader<T> {
+        T read(InputStream content, Function<String, String> headers) throws IOException;
+    }
+
+    public static <T> T sendRequest(CloseableHttpClient httpClient, ClassicRequestBuilder requestBuilder,
+                                    ResponseReader<T> responseReader) {
+        log.debug("Sending request to: {}", requestBuilder.getUri());
+        return executeResponse(httpClient, requestBuilder, response -> {
+            HttpEntity entity = response.getEntity();
+            Function<String, String> headers = name -> {
+                Header header = response.getFirstHeader(name);
+                return header != null ? header.getValue() : null;
+            };
+            try (InputStream content = entity != null ? entity.getContent() : InputStream.nullInputStream()) {
+                return responseReader.read(content, headers);
+            } catch (IOException e) {
+                throw new LreException("Error reading response content from " + requestBuilder.getUri(), e);
+            }
+        });
+    }
+
     public static boolean downloadFile(CloseableHttpClient client, ClassicRequestBuilder reqBuilder, String destPath) {
         if (StringUtils.isBlank(destPath)) {
             throw new LreException("Destination path is blank for downloading file from " + reqBuilder.getUri());
@@ -63,6 +113,12 @@ public class HttpRequestExecutor {
     private static <T> T executeRequest(CloseableHttpClient httpClient,
                                         ClassicRequestBuilder requestBuilder,
                                         Function<HttpEntity, T> entityProcessor) {
+        return executeResponse(httpClient, requestBuilder, response -> entityProcessor.apply(response.getEntity()));
+    }
+
+    private static <T> T executeResponse(CloseableHttpClient httpClient,
+                                         ClassicRequestBuilder requestBuilder,
+                                         Function<ClassicHttpResponse, T> responseProcessor) {
         String url = requestBuilder.getUri().toString();
         try {
             return httpClient.execute(requestBuilder.build(), response -> {
@@ -85,7 +141,7 @@ public class HttpRequestExecutor {
                 }
 
                 log.debug("Request completed: {} -> Status: {}", url, status);
-                return entityProcessor.apply(entity);
+                return responseProcessor.apply(response);
             });
         } catch (IOException e) {
             throw new LreException("I/O error executing request to " + url, e);
@@ -0,0 +1,165 @@
+package com.lre.db;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prepares a downloaded analysed results DB for the report queries.
+ * <p>
+ * LRE ships the DB without indexes for our joins, so every summary query scans and sorts
+ * {@code Event_meter}. Preparation creates covering indexes on it and the join keys of the lookup
+ * tables, runs {@code ANALYZE} for the query planner and records a marker table, so the work is
+ * done once per downloaded DB and skipped by later runs on the same file. Tables missing from a
+ * given LRE version are skipped. The writes keep SQLite's default journal and sync settings, and
+ * the marker is only written when every statement succeeded, so a failed or interrupted
+ * preparation is retried by the next run.
+ */
+@Slf4j
+@UtilityClass
+public class ResultsDbPreparer {
+
+    // Bump when the index set changes so existing DBs are prepared again
+    private static final int PREPARED_VERSION = 2;
+    private static final String MARKER_TABLE = "LreGitlab_Prepared";
+
+    private record IndexDefinition(String name, String table, String columns) {
+        String toSql() {
+            return "CREATE INDEX IF NOT EXISTS \"%s\" ON \"%s\" (%s)".formatted(name, table, columns);
+        }
+    }
+
+    private static final List<IndexDefinition> INDEXES = List.of(
+            new IndexDefinition("LreGitlab_EM_Txn_Covering", "Event_meter",
+                    "\"Event ID\", \"Group ID\", Status1, \"Value\", \"Think Time\", Acount"),
+            new IndexDefinition("LreGitlab_EMAP_Type_Event", "Event_map", "\"Event Type\", \"Event ID\", \"Event Name\""),
+            new IndexDefinition("LreGitlab_TES_Status", "TransactionEndStatus", "Status1, \"Transaction End Status\""),
+            new IndexDefinition("LreGitlab_VG_Group", "VuserGroup", "\"Group ID\", \"Group Name\"")
+    );
+
+    // Indexes of earlier versions that are no longer created; version 1 had a prefix of the covering index
+    private static final List<String> OBSOLETE_INDEXES = List.of("LreGitlab_EM_Event_Group_Time");
+
+    private static final Map<String, String> TIMED_QUERIES = new LinkedHashMap<>();
+
+    static {
+        TIMED_QUERIES.put("run info", SqlQueries.RUN_INFO_SQL);
+        TIMED_QUERIES.put("transaction summary", SqlQueries.TXN_SUMMARY_SQL);
+    }
+
+    /**
+     * Prepares the DB unless an earlier run already did.
+     *
+     * @param timeQueries run the report queries before and after indexing and log both timings;
+     *                    doubles the query work, so meant for diagnostics
+     * @return true when the DB was fully prepared by this call
+     */
+    public static boolean prepare(Path dbPath, boolean timeQueries) {
+        if (dbPath == null || !Files.exists(dbPath)) {
+            log.debug("Results DB not found, skipping preparation: {}", dbPath);
+            return false;
+        }
+
+        try (SQLiteConnectionManager manager = new SQLiteConnectionManager(dbPath, true)) {
+            if (isPrepared(manager)) {
+                log.debug("Results DB already prepared: {}", dbPath);
+                return false;
+            }
+
+            Map<String, Long> before = timeQueries ? timeQueries(manager) : Map.of();
+
+            long start = System.nanoTime();
+            int created = 0;
+            boolean complete = true;
+            for (String obsolete : OBSOLETE_INDEXES) {
+                manager.execute("DROP INDEX IF EXISTS \"" + obsolete + "\"");
+            }
+            for (IndexDefinition index : INDEXES) {
+                if (!tableExists(manager, index.table())) {
+                    log.debug("Table {} not found, skipping index {}", index.table(), index.name());
+                    continue;
+                }
+                try {
+                    long indexStart = System.nanoTime();
+                    manager.execute(index.toSql());
+                    created++;
+                    log.debug("Created index {} in {} ms", index.name(), elapsedMillis(indexStart));
+                } catch (SQLiteConnectionManager.SQLiteQueryException e) {
+                    log.warn("Failed to create index {} on {}: {}", index.name(), index.table(), rootMessage(e));
+                    complete = false;
+                }
+            }
+            manager.execute("ANALYZE");
+            if (complete) {
+                manager.execute("CREATE TABLE IF NOT EXISTS " + MARKER_TABLE + " (Version INTEGER, Prepared_At TEXT)");
+                manager.execute("INSERT INTO " + MARKER_TABLE + " VALUES (" + PREPARED_VERSION + ", datetime('now'))");
+                log.info("Prepared results DB with {} indexes in {} ms: {}", created, elapsedMillis(start), dbPath.getFileName());
+            } else {
+                log.info("Partly prepared results DB with {} indexes in {} ms; the next run retries: {}",
+                        created, elapsedMillis(start), dbPath.getFileName());
+            }
+
+            if (timeQueries) {
+                Map<String, Long> after = timeQueries(manager);
+                before.forEach((name, millis) ->
+                        log.info("Query '{}': {} ms before preparation, {} ms after", name, millis, after.get(name)));
+            }
+            return complete;
+        } catch (SQLiteConnectionManager.SQLiteQueryException e) {
+            // The report still works on an unprepared DB, only slower
+            log.warn("Failed to prepare results DB {}: {}", dbPath, rootMessage(e));
+            return false;
+        }
+    }
+
+    private static boolean isPrepared(SQLiteConnectionManager manager) {
+        if (!tableExists(manager, MARKER_TABLE)) return false;
+        int[] version = new int[1];
+        manager.executeQuery("SELECT MAX(Version) FROM " + MARKER_TABLE, null, rs -> {
+            if (rs.next()) version[0] = rs.getInt(1);
+        });
+        return version[0] >= PREPARED_VERSION;
+    }
+
+    private static boolean tableExists(SQLiteConnectionManager manager, String table) {
+        boolean[] exists = new boolean[1];
+        manager.executeQuery("SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = ?", List.of(table),
+                rs -> exists[0] = rs.next());
+        return exists[0];
+    }
+
+    private static Map<String, Long> timeQueries(SQLiteConnectionManager manager) {
+        Map<String, Long> timings = new LinkedHashMap<>();
+        TIMED_QUERIES.forEach((name, sql) -> {
+            long start = System.nanoTime();
+            try {
+                manager.executeQuery(sql, null, rs -> {
+                    while (rs.next()) {
+                        // drain the result set so the full query cost is measured
+                    }
+                });
+                timings.put(name, elapsedMillis(start));
+            } catch (SQLiteConnectionManager.SQLiteQueryException e) {
+                log.debug("Query '{}' failed while timing: {}", name, rootMessage(e));
+                timings.put(name, -1L);
+            }
+        });
+        return timings;
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null) root = root.getCause();
+        return root.getMessage();
+    }
+}
@@ -19,13 +19,28 @@ public class SQLiteConnectionManager implements AutoCloseable {
             "PRAGMA busy_timeout = 30000"
     );
 
+    // Keeps SQLite's default journal and sync, so writes survive a crash mid-way
+    private static final List<String> DURABLE_PRAGMA_LIST = List.of(
+            "PRAGMA cache_size = 10000",
+            "PRAGMA temp_store = MEMORY",
+            "PRAGMA busy_timeout = 30000"
+    );
+
     private final Path dbPath;
     private final Connection connection;
 
     public SQLiteConnectionManager(Path dbPath) {
+        this(dbPath, false);
+    }
+
+    /**
+     * @param durableWrites keep the default journal mode and synchronous setting, for writes that
+     *                      must not corrupt the DB when the process dies
+     */
+    public SQLiteConnectionManager(Path dbPath, boolean durableWrites) {
         this.dbPath = dbPath;
         verifyDatabaseExists();
-        this.connection = createConnectionWithPragmaList();
+        this.connection = createConnectionWithPragmaList(durableWrites ? DURABLE_PRAGMA_LIST : PRAGMA_LIST);
     }
 
     /**
@@ -49,16 +64,26 @@ public class SQLiteConnectionManager implements AutoCloseable {
         }
     }
 
-    private Connection createConnectionWithPragmaList() {
+    /**
+     * Executes a statement that returns no rows, such as DDL or ANALYZE.
+     */
+    public void execute(String sql) {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute(sql);
+        } catch (SQLException e) {
+            throw new SQLiteQueryException("Failed to execute statement: " + sql, e);
+        }
+    }
+
+    private Connection createConnectionWithPragmaList(List<String> pragmas) {
         try {
             String url = "jdbc:sqlite:" + dbPath.toAbsolutePath();
             Connection conn = DriverManager.getConnection(url);
 
             try (Statement stmt = conn.createStatement()) {
-                for (String pragma : PRAGMA_LIST) {
-                    stmt.addBatch(pragma);
+                for (String pragma : pragmas) {
+                    stmt.execute(pragma); // some PRAGMAs return a row, which a batch rejects
                 }
-                stmt.executeBatch(); // executes all PRAGMAs in one call
             }
 
             conn.setAutoCommit(true);
@@ -100,6 +125,17 @@ public class SQLiteConnectionManager implements AutoCloseable {
         void accept(ResultSet rs) throws SQLException;
     }
 
+    /**
+     * Receives the columns of a query once, then every row; the row must not be retained.
+     */
+    @FunctionalInterface
+    public interface RowVisitor {
+        default void start(ResultSetMetaData metaData) throws SQLException {
+        }
+
+        void visit(ResultSet row) throws SQLException;
+    }
+
     public static class SQLiteQueryException extends RuntimeException {
         public SQLiteQueryException(String message) {
             super(message);
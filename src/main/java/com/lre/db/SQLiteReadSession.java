@@ -0,0 +1,160 @@
+package com.lre.db;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-only session on a report DB, opened once and reused for all queries against it.
+ * <p>
+ * The file is opened with {@code mode=ro&immutable=1}, so SQLite skips locking and change
+ * detection, and prepared statements are cached by SQL. Optionally the DB is first copied into an
+ * in-memory database through the SQLite backup API, which pays off when the same DB is queried
+ * repeatedly. Queries on one session are serialized; use one session per DB to query DBs concurrently.
+ * <p>
+ * Results DBs must be prepared ({@link ResultsDbPreparer}) before a session is opened on them,
+ * as immutable mode assumes nobody writes to the file.
+ */
+@Slf4j
+public class SQLiteReadSession implements AutoCloseable {
+
+    private static final List<String> PRAGMA_LIST = List.of(
+            "PRAGMA cache_size = 10000",
+            "PRAGMA temp_store = MEMORY",
+            "PRAGMA mmap_size = 268435456"
+    );
+
+    private final Path dbPath;
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+    /**
+     * @param inMemory copy the DB into memory before querying; needs heap for the whole DB
+     */
+    public SQLiteReadSession(Path dbPath, boolean inMemory) {
+        this.dbPath = dbPath;
+        if (!Files.exists(dbPath)) {
+            throw new SQLiteConnectionManager.SQLiteQueryException("Database not found: " + dbPath.toAbsolutePath());
+        }
+        this.connection = inMemory ? openInMemoryCopy() : openReadOnly();
+    }
+
+    public SQLiteReadSession(Path dbPath) {
+        this(dbPath, false);
+    }
+
+    /**
+     * Executes a SELECT query through a cached prepared statement and processes the ResultSet.
+     */
+    public synchronized void executeQuery(String sql, List<Object> parameters, SQLiteConnectionManager.ResultSetConsumer consumer) {
+        try {
+            PreparedStatement stmt = statements.get(sql);
+            if (stmt == null) {
+                stmt = connection.prepareStatement(sql);
+                statements.put(sql, stmt);
+            }
+            stmt.clearParameters();
+            if (parameters != null) {
+                for (int i = 0; i < parameters.size(); i++) stmt.setObject(i + 1, parameters.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                consumer.accept(rs);
+            }
+        } catch (SQLException e) {
+            log.error("Query execution failed: {} | params: {}", sql, parameters, e);
+            throw new SQLiteConnectionManager.SQLiteQueryException("Failed to execute query: " + sql, e);
+        }
+    }
+
+    /**
+     * Visits the rows of a SELECT query one at a time through a forward-only cursor, so memory does
+     * not grow with the result size. The statement is not cached, as exports run each query once.
+     *
+     * @return the number of rows visited
+     */
+    public synchronized long forEachRow(String sql, List<Object> parameters, int fetchSize,
+                                        SQLiteConnectionManager.RowVisitor visitor) {
+        try (PreparedStatement stmt = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(Math.max(1, fetchSize));
+            if (parameters != null) {
+                for (int i = 0; i < parameters.size(); i++) stmt.setObject(i + 1, parameters.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                visitor.start(rs.getMetaData());
+                long count = 0;
+                while (rs.next()) {
+                    visitor.visit(rs);
+                    count++;
+                }
+                return count;
+            }
+        } catch (SQLException e) {
+            log.error("Query execution failed: {} | params: {}", sql, parameters, e);
+            throw new SQLiteConnectionManager.SQLiteQueryException("Failed to execute query: " + sql, e);
+        }
+    }
+
+    public Path getDbPath() {
+        return dbPath;
+    }
+
+    private Connection openReadOnly() {
+        try {
+            Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbPath.toAbsolutePath().toUri() + "?mode=ro&immutable=1");
+            applyPragmas(conn);
+            return conn;
+        } catch (SQLException e) {
+            throw new SQLiteConnectionManager.SQLiteQueryException("Failed to open read-only SQLite session: " + dbPath, e);
+        }
+    }
+
+    private Connection openInMemoryCopy() {
+        Connection conn = null;
+        try {
+            long start = System.nanoTime();
+            conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+            try (Statement stmt = conn.createStatement()) {
+                // sqlite-jdbc runs "restore from" through the SQLite online backup API
+                stmt.executeUpdate("restore from \"" + dbPath.toAbsolutePath() + "\"");
+            }
+            applyPragmas(conn);
+            log.debug("Copied {} into memory in {} ms", dbPath.getFileName(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return conn;
+        } catch (SQLException e) {
+            closeQuietly(conn);
+            throw new SQLiteConnectionManager.SQLiteQueryException("Failed to copy SQLite DB into memory: " + dbPath, e);
+        }
+    }
+
+    private static void applyPragmas(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String pragma : PRAGMA_LIST) {
+                stmt.execute(pragma);
+            }
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        if (closeable == null) return;
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            log.debug("Failed to close {}", closeable, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        statements.values().forEach(SQLiteReadSession::closeQuietly);
+        statements.clear();
+        closeQuietly(connection);
+        log.debug("SQLite read session closed: {}", dbPath);
+    }
+}
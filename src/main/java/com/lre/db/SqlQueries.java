@@ -102,6 +102,54 @@ public class SqlQueries {
             """;
 
 
+    /**
+     * Bounds of the Event_meter rowid range, used to split the streaming transaction scan into partitions.
+     */
+    public static final String EVENT_METER_ROWID_RANGE_SQL = """
+            SELECT MIN(rowid) AS Min_Row, MAX(rowid) AS Max_Row FROM Event_meter
+            """;
+
+    /**
+     * Transaction meter rows of one rowid partition with the end status reduced to 1 (Pass), 2 (Fail) or 0.
+     * Same joins as {@link #TXN_SUMMARY_SQL}; names are resolved separately so rows carry only IDs.
+     */
+    public static final String TXN_METER_ROWS_SQL = """
+            SELECT
+                EM."Group ID" AS Group_ID,
+                EM."Event ID" AS Event_ID,
+                CASE TES."Transaction End Status" WHEN 'Pass' THEN 1 WHEN 'Fail' THEN 2 ELSE 0 END AS Status,
+                EM."Value" - COALESCE(EM."Think Time", 0) AS Response_Time,
+                EM.Acount AS Count
+            FROM Event_meter EM
+            JOIN Event_map EMAP ON EM."Event ID" = EMAP."Event ID" AND EMAP."Event Type" = 'Transaction'
+            JOIN TransactionEndStatus TES ON EM.Status1 = TES.Status1
+            JOIN VuserGroup vg ON EM."Group ID" = vg."Group ID"
+            WHERE EM.rowid BETWEEN ? AND ?
+            """;
+
+    public static final String TXN_METER_EXPORT_SQL = """
+            SELECT
+                vg."Group Name" AS Script_Name,
+                EMAP."Event Name" AS Transaction_Name,
+                EM."End Time" AS End_Time,
+                TES."Transaction End Status" AS Status,
+                ROUND(EM."Value" - COALESCE(EM."Think Time", 0), 3) AS Response_Time,
+                EM."Think Time" AS Think_Time,
+                EM.Acount AS Count
+            FROM Event_meter EM
+            JOIN Event_map EMAP ON EM."Event ID" = EMAP."Event ID" AND EMAP."Event Type" = 'Transaction'
+            JOIN TransactionEndStatus TES ON EM.Status1 = TES.Status1
+            JOIN VuserGroup vg ON EM."Group ID" = vg."Group ID"
+            """;
+
+    public static final String TXN_EVENT_NAMES_SQL = """
+            SELECT "Event ID" AS Event_ID, "Event Name" AS Event_Name FROM Event_map WHERE "Event Type" = 'Transaction'
+            """;
+
+    public static final String VUSER_GROUP_NAMES_SQL = """
+            SELECT "Group ID" AS Group_ID, "Group Name" AS Group_Name FROM VuserGroup
+            """;
+
     public static final String TOP_5_SLOWEST_TRANSACTIONS_SQL = """
             WITH PassTransactions AS (
                 SELECT
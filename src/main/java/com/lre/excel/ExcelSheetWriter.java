@@ -41,6 +41,32 @@ public record ExcelSheetWriter(Workbook workbook, ExcelStyleFactory styles, Exce
         }
     }
 
+    /**
+     * Writes rows of values under the given headers, for tables whose columns are not known at compile time.
+     */
+    public void writeTableSheet(String sheetName, List<String> headers, List<List<Object>> rows, String mergeColumn) {
+        if (rows == null || rows.isEmpty()) return;
+
+        Sheet sheet = initSheet(sheetName);
+        String[] headerArray = headers.toArray(String[]::new);
+        Integer mergeIndex = findColumnIndex(headerArray, mergeColumn);
+
+        writeHeaderRow(sheet, headerArray);
+        for (int r = 0; r < rows.size(); r++) {
+            Row row = sheet.createRow(r + 1);
+            List<Object> values = rows.get(r);
+            for (int c = 0; c < values.size(); c++) {
+                valueWriter.write(row.createCell(c), values.get(c));
+            }
+        }
+
+        ExcelSheetAutoSizer.autoSizeAllColumns(sheet);
+
+        if (mergeIndex != null) {
+            applyMerges(sheet, mergeIndex, rows.size());
+        }
+    }
+
     /** Initializes a new sheet with default settings. */
     private Sheet initSheet(String sheetName) {
         Sheet sheet = workbook.createSheet(sheetName);
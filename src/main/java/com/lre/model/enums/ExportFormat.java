@@ -0,0 +1,26 @@
+package com.lre.model.enums;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum ExportFormat implements StringValueEnum {
+    CSV("csv"),
+    XLSX("xlsx"),
+    HTML("html");
+
+    private final String value;
+
+    ExportFormat(String value) {
+        this.value = value;
+    }
+
+    @JsonValue
+    public String getValue() {
+        return value;
+    }
+
+    @JsonCreator
+    public static ExportFormat fromValue(String value) {
+        return StringValueEnum.fromValue(ExportFormat.class, value);
+    }
+}
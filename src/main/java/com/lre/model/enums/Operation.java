@@ -4,6 +4,7 @@ public enum Operation {
     RUN_LRE_TEST,
     SYNC_GITLAB_WITH_LRE,
     EXTRACT_RESULTS,
+    MONITOR_RUNS,
     SEND_EMAIL,
     HELP
 }
\ No newline at end of file
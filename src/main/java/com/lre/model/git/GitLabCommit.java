@@ -22,6 +22,18 @@ public class GitLabCommit {
     @JsonProperty("path")
     private String path = "";
 
+    /**
+     * Fingerprint of the blob IDs in the script directory; identical content yields the same value.
+     */
+    @JsonProperty("content_hash")
+    private String contentHash = "";
+
+    public GitLabCommit(String sha, String committedDate, String path) {
+        this.sha = sha;
+        this.committedDate = committedDate;
+        this.path = path;
+    }
+
     @JsonIgnore
     public boolean isEmpty() {
         return sha.isBlank() && committedDate.isBlank();
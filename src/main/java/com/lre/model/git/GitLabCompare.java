@@ -0,0 +1,34 @@
+package com.lre.model.git;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Projection of the repository compare response: only the changed paths, not the diff text.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Data
+public class GitLabCompare {
+
+    @JsonProperty("diffs")
+    private List<Diff> diffs = List.of();
+
+    @JsonProperty("compare_timeout")
+    private boolean compareTimeout;
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    @Data
+    public static class Diff {
+        @JsonProperty("old_path")
+        private String oldPath;
+
+        @JsonProperty("new_path")
+        private String newPath;
+
+        @JsonProperty("deleted_file")
+        private boolean deletedFile;
+    }
+}
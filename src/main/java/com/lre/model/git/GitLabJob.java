@@ -0,0 +1,13 @@
+package com.lre.model.git;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Data
+public class GitLabJob {
+    private long id;
+    private String name;
+    private String ref;
+    private String status; // "success", "failed", ...
+}
@@ -0,0 +1,12 @@
+package com.lre.model.git;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Data
+public class GitLabPipeline {
+    private long id;
+    private String ref;
+    private String status; // "running", "success", "failed", ...
+}
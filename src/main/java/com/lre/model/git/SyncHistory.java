@@ -0,0 +1,29 @@
+package com.lre.model.git;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * State of the last successful sync: the branch head it covered and the synced script directories.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncHistory {
+
+    @JsonProperty("head_sha")
+    private String headSha = "";
+
+    @JsonProperty("commits")
+    private List<GitLabCommit> commits = List.of();
+
+    public static SyncHistory empty() {
+        return new SyncHistory("", List.of());
+    }
+}
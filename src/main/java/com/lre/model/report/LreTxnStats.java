@@ -1,8 +1,6 @@
 package com.lre.model.report;
 
-import lombok.Data;
-import lombok.AllArgsConstructor;
-import lombok.NoArgsConstructor;
+import lombok.*;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -25,6 +23,15 @@ public class LreTxnStats {
     private double p90;
     private double p95;
     private double p99;
+    // Full distribution for further percentiles, when computed by the streaming engine; not a report column
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private TxnHistogram histogram;
+
+    public TxnHistogram histogram() {
+        return histogram;
+    }
 
     // Centralized mapper
     public static LreTxnStats from(ResultSet rs) throws SQLException {
@@ -41,7 +48,8 @@ public class LreTxnStats {
                 rs.getDouble("p50"),
                 rs.getDouble("p90"),
                 rs.getDouble("p95"),
-                rs.getDouble("p99")
+                rs.getDouble("p99"),
+                null
         );
     }
 }
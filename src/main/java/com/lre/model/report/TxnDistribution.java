@@ -0,0 +1,8 @@
+package com.lre.model.report;
+
+/**
+ * Response time distribution of one transaction as saved with the report artifacts.
+ * Distributions of the same transaction from other runs or groups can be combined with {@link TxnHistogram#add}.
+ */
+public record TxnDistribution(String scriptName, String transactionName, TxnHistogram histogram) {
+}
@@ -0,0 +1,185 @@
+package com.lre.model.report;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.lre.common.exceptions.LreException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Mergeable log-bucketed histogram of transaction response times, in the style of HdrHistogram.
+ * <p>
+ * Response times are recorded in microseconds into {@code long[]} buckets: exact up to 256 µs,
+ * then 128 linear sub-buckets per power of two, so any percentile is within 1/128 (under 0.8%)
+ * of the recorded value. Histograms of different groups, load generators or runs can be added
+ * without rescanning the results DB, and serialize to a short Base64 string of run-length
+ * encoded varints.
+ */
+public final class TxnHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_HALF = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKET_HALF << 1;
+    private static final byte ENCODING_VERSION = 1;
+    private static final double MICROS_PER_SECOND = 1_000_000d;
+
+    private long[] counts = new long[LINEAR_LIMIT];
+    private long totalCount;
+    private long minMicros = Long.MAX_VALUE;
+    private long maxMicros;
+
+    /**
+     * Records {@code count} occurrences of a response time given in seconds.
+     */
+    public void record(double seconds, long count) {
+        if (count <= 0) return;
+        long micros = Math.max(0, Math.round(seconds * MICROS_PER_SECOND));
+        int index = indexOf(micros);
+        if (index >= counts.length) counts = Arrays.copyOf(counts, Math.max(index + 1, counts.length * 2));
+        counts[index] += count;
+        totalCount += count;
+        minMicros = Math.min(minMicros, micros);
+        maxMicros = Math.max(maxMicros, micros);
+    }
+
+    /**
+     * Adds the counts of another histogram to this one.
+     */
+    public void add(TxnHistogram other) {
+        if (other.totalCount == 0) return;
+        if (other.counts.length > counts.length) counts = Arrays.copyOf(counts, other.counts.length);
+        for (int i = 0; i < other.counts.length; i++) counts[i] += other.counts[i];
+        totalCount += other.totalCount;
+        minMicros = Math.min(minMicros, other.minMicros);
+        maxMicros = Math.max(maxMicros, other.maxMicros);
+    }
+
+    /**
+     * Response time in seconds at the given percentile (0-100): the smallest recorded value whose
+     * running count reaches that share of the total, as the SQL summary does. 0 when empty.
+     */
+    public double valueAtPercentile(double percentile) {
+        if (totalCount == 0) return 0;
+        double threshold = totalCount * Math.min(100, Math.max(0, percentile)) / 100;
+        long running = 0;
+        for (int i = 0; i < counts.length; i++) {
+            running += counts[i];
+            if (counts[i] > 0 && running >= threshold) {
+                long value = Math.max(minMicros, Math.min(maxMicros, highestEquivalentValue(i)));
+                return value / MICROS_PER_SECOND;
+            }
+        }
+        return maxMicros / MICROS_PER_SECOND;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public double getMinimum() {
+        return totalCount == 0 ? 0 : minMicros / MICROS_PER_SECOND;
+    }
+
+    public double getMaximum() {
+        return maxMicros / MICROS_PER_SECOND;
+    }
+
+    /**
+     * Base64 of a version byte, min and max, then the bucket counts as zig-zag varints where
+     * negative numbers stand for runs of empty buckets.
+     */
+    @JsonValue
+    public String encode() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        out.write(ENCODING_VERSION);
+        writeVarLong(out, totalCount == 0 ? 0 : minMicros);
+        writeVarLong(out, maxMicros);
+        int last = counts.length - 1;
+        while (last >= 0 && counts[last] == 0) last--;
+        int zeros = 0;
+        for (int i = 0; i <= last; i++) {
+            if (counts[i] == 0) {
+                zeros++;
+                continue;
+            }
+            if (zeros > 0) writeVarLong(out, zigZag(-zeros));
+            zeros = 0;
+            writeVarLong(out, zigZag(counts[i]));
+        }
+        return Base64.getEncoder().encodeToString(out.toByteArray());
+    }
+
+    @JsonCreator
+    public static TxnHistogram decode(String encoded) {
+        TxnHistogram histogram = new TxnHistogram();
+        try {
+            ByteBuffer in = ByteBuffer.wrap(Base64.getDecoder().decode(encoded));
+            if (in.get() != ENCODING_VERSION) throw new LreException("Unsupported histogram encoding: " + encoded);
+            long min = readVarLong(in);
+            long max = readVarLong(in);
+            int index = 0;
+            while (in.hasRemaining()) {
+                long value = unZigZag(readVarLong(in));
+                if (value < 0) {
+                    index += (int) -value;
+                    continue;
+                }
+                if (index >= histogram.counts.length) {
+                    histogram.counts = Arrays.copyOf(histogram.counts, Math.max(index + 1, histogram.counts.length * 2));
+                }
+                histogram.counts[index++] = value;
+                histogram.totalCount += value;
+            }
+            if (histogram.totalCount > 0) {
+                histogram.minMicros = min;
+                histogram.maxMicros = max;
+            }
+        } catch (IllegalArgumentException | BufferUnderflowException e) {
+            throw new LreException("Invalid histogram encoding: " + encoded, e);
+        }
+        return histogram;
+    }
+
+    private static int indexOf(long micros) {
+        if (micros < LINEAR_LIMIT) return (int) micros;
+        int shift = 63 - Long.numberOfLeadingZeros(micros) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKET_HALF + (int) (micros >>> shift);
+    }
+
+    private static long highestEquivalentValue(int index) {
+        if (index < LINEAR_LIMIT) return index;
+        int shift = index / SUB_BUCKET_HALF - 1;
+        long subBucket = index - (long) shift * SUB_BUCKET_HALF;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new LreException("Malformed varint in histogram encoding");
+    }
+}
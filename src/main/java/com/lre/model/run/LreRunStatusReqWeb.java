@@ -39,10 +39,17 @@ public class LreRunStatusReqWeb {
     }
 
     public static LreRunStatusReqWeb createRunStatusPayloadForRunId(int runId) {
+        return createRunStatusPayloadForRunIds(Collections.singletonList(runId));
+    }
+
+    /**
+     * Builds a single request that returns the extended status of every given run.
+     */
+    public static LreRunStatusReqWeb createRunStatusPayloadForRunIds(List<Integer> runIds) {
         LreRunStatusReqWeb.Filter filter = new LreRunStatusReqWeb.Filter();
         filter.setField("Id");
         filter.setType("EqualTo");
-        filter.setValues(Collections.singletonList(runId));
+        filter.setValues(List.copyOf(runIds));
 
         LreRunStatusReqWeb request = new LreRunStatusReqWeb();
         request.setFilters(Collections.singletonList(filter));
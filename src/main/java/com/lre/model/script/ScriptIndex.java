@@ -0,0 +1,89 @@
+package com.lre.model.script;
+
+import com.lre.model.test.testcontent.groups.script.Script;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Index of the scripts in an LRE project.
+ * <p>
+ * Scripts are keyed on a normalized (folder, name) pair, so lookups are case-insensitive hash
+ * lookups instead of list scans. The same entries are reachable by ID and can be listed by folder
+ * prefix. The index is updated in place after uploads and deletes and is safe for concurrent use.
+ */
+public class ScriptIndex {
+
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final NavigableMap<String, Script> byFolderAndName = new ConcurrentSkipListMap<>();
+    private final Map<Integer, Script> byId = new ConcurrentHashMap<>();
+
+    /**
+     * Adds a script while the index is being built; the first script of a folder and name wins,
+     * like the previous list scan.
+     */
+    public void add(Script script) {
+        if (byFolderAndName.putIfAbsent(key(script.getTestFolderPath(), script.getName()), script) == null) {
+            byId.put(script.getId(), script);
+        }
+    }
+
+    public Optional<Script> findByFolderAndName(String testFolderPath, String scriptName) {
+        return Optional.ofNullable(byFolderAndName.get(key(testFolderPath, scriptName)));
+    }
+
+    public Optional<Script> findById(int id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    /**
+     * Lists the scripts in a folder and all its sub-folders, ordered by path and name.
+     */
+    public List<Script> listByFolderPrefix(String folderPrefix) {
+        String prefix = normalize(folderPrefix);
+        return byFolderAndName.tailMap(prefix, true).entrySet().stream()
+                .takeWhile(entry -> entry.getKey().startsWith(prefix))
+                .filter(entry -> isInFolder(entry.getKey(), prefix))
+                .map(Map.Entry::getValue)
+                .toList();
+    }
+
+    /**
+     * Adds or replaces a script, e.g. after it was uploaded.
+     */
+    public synchronized void put(Script script) {
+        Script previous = byFolderAndName.put(key(script.getTestFolderPath(), script.getName()), script);
+        if (previous != null) byId.remove(previous.getId());
+        byId.put(script.getId(), script);
+    }
+
+    /**
+     * Removes a script, e.g. after it was deleted.
+     */
+    public synchronized void remove(Script script) {
+        if (byFolderAndName.remove(key(script.getTestFolderPath(), script.getName()), script)) {
+            byId.remove(script.getId(), script);
+        }
+    }
+
+    public int size() {
+        return byFolderAndName.size();
+    }
+
+    // Accepts "subject\a" for "subject\a\x" and "subject\a" itself, but not "subject\ab"
+    private static boolean isInFolder(String key, String prefix) {
+        if (prefix.isEmpty() || key.length() == prefix.length()) return true;
+        char next = key.charAt(prefix.length());
+        return next == KEY_SEPARATOR || next == '\\' || prefix.endsWith("\\");
+    }
+
+    private static String key(String testFolderPath, String scriptName) {
+        return normalize(testFolderPath) + KEY_SEPARATOR + normalize(scriptName);
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+}
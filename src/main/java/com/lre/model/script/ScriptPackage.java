@@ -0,0 +1,113 @@
+package com.lre.model.script;
+
+import lombok.Getter;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A packaged script ready for upload.
+ * <p>
+ * Packages are written into memory up to a size cap and spill to a file beyond it, so typical
+ * scripts go from the packager to the upload request without touching the disk.
+ */
+@Getter
+public class ScriptPackage {
+
+    @FunctionalInterface
+    public interface PackageWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    private final String fileName;
+    private final byte[] bytes;
+    private final Path file;
+    private final long size;
+
+    private ScriptPackage(String fileName, byte[] bytes, Path file, long size) {
+        this.fileName = fileName;
+        this.bytes = bytes;
+        this.file = file;
+        this.size = size;
+    }
+
+    public static ScriptPackage ofFile(Path file) throws IOException {
+        return new ScriptPackage(file.getFileName().toString(), null, file, Files.size(file));
+    }
+
+    /**
+     * Writes a package, keeping it in memory while it stays within {@code memoryCapBytes}
+     * and spilling it to {@code spillFile} otherwise.
+     */
+    public static ScriptPackage write(Path spillFile, long memoryCapBytes, PackageWriter writer) throws IOException {
+        Spool spool = spool(spillFile, memoryCapBytes);
+        try (spool) {
+            writer.write(spool);
+        }
+        return spool.toPackage();
+    }
+
+    /**
+     * Opens a stream for a package that is written incrementally; call {@link Spool#toPackage()} after closing it.
+     */
+    public static Spool spool(Path spillFile, long memoryCapBytes) {
+        return new Spool(spillFile, memoryCapBytes);
+    }
+
+    public boolean isInMemory() {
+        return bytes != null;
+    }
+
+    /**
+     * Output stream that buffers in memory up to the cap and spills to the file beyond it.
+     */
+    public static final class Spool extends OutputStream {
+        private final Path spillFile;
+        private final long memoryCapBytes;
+        private ByteArrayOutputStream memory = new ByteArrayOutputStream();
+        private OutputStream fileOut;
+        private long count;
+
+        private Spool(Path spillFile, long memoryCapBytes) {
+            this.spillFile = spillFile;
+            this.memoryCapBytes = memoryCapBytes;
+        }
+
+        public ScriptPackage toPackage() {
+            String fileName = spillFile.getFileName().toString();
+            return fileOut != null
+                    ? new ScriptPackage(fileName, null, spillFile, count)
+                    : new ScriptPackage(fileName, memory.toByteArray(), null, count);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (fileOut == null && count + len > memoryCapBytes) spill();
+            if (fileOut != null) fileOut.write(b, off, len);
+            else memory.write(b, off, len);
+            count += len;
+        }
+
+        private void spill() throws IOException {
+            fileOut = new BufferedOutputStream(Files.newOutputStream(spillFile));
+            memory.writeTo(fileOut);
+            memory = null;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (fileOut != null) fileOut.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (fileOut != null) fileOut.close();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.lre.model.test;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.lre.common.exceptions.LreException;
+import com.lre.common.utils.JsonUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+/**
+ * Lightweight index of the tests in an LRE project.
+ * <p>
+ * Built straight from the {@code /tests} JSON stream, reading only ID, Name, TestFolderPath and
+ * LastModified and skipping each test's {@code Content} subtree. Lookups are case-insensitive hash lookups.
+ */
+public class TestIndex {
+
+    public record Entry(int id, String name, String testFolderPath, String lastModified) {
+    }
+
+    private final List<Entry> entries;
+    private final Map<String, Entry> byName = new HashMap<>();
+    private final Map<String, Entry> byNameAndFolder = new HashMap<>();
+
+    public TestIndex(List<Entry> entries) {
+        this.entries = List.copyOf(entries);
+        for (Entry entry : this.entries) {
+            // First match wins, like the previous list scans
+            byName.putIfAbsent(normalize(entry.name()), entry);
+            byNameAndFolder.putIfAbsent(key(entry.name(), entry.testFolderPath()), entry);
+        }
+    }
+
+    public Optional<Entry> findByName(String name) {
+        return Optional.ofNullable(byName.get(normalize(name)));
+    }
+
+    public Optional<Entry> findByNameAndFolder(String name, String testFolderPath) {
+        return Optional.ofNullable(byNameAndFolder.get(key(name, testFolderPath)));
+    }
+
+    public List<Entry> entries() {
+        return entries;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Parses a JSON array of tests, keeping only the fields needed for lookups.
+     */
+    public static TestIndex parse(InputStream json) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        try (JsonParser parser = JsonUtils.createParser(json)) {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.VALUE_NULL) return new TestIndex(entries);
+            if (token != JsonToken.START_ARRAY) throw new LreException("Expected JSON array of tests but got " + token);
+
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                entries.add(parseEntry(parser));
+            }
+        }
+        return new TestIndex(entries);
+    }
+
+    private static Entry parseEntry(JsonParser parser) throws IOException {
+        int id = 0;
+        String name = null;
+        String folder = null;
+        String lastModified = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "ID" -> id = parser.getValueAsInt();
+                case "Name" -> name = parser.getValueAsString();
+                case "TestFolderPath" -> folder = parser.getValueAsString();
+                case "LastModified" -> lastModified = parser.getValueAsString();
+                default -> parser.skipChildren();
+            }
+        }
+        return new Entry(id, name, folder, lastModified);
+    }
+
+    private static String key(String name, String testFolderPath) {
+        return normalize(testFolderPath) + "\u0000" + normalize(name);
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+}
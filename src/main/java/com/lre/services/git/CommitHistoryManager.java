@@ -4,43 +4,162 @@ import com.lre.client.api.gitlab.GitLabRestApis;
 import com.lre.common.exceptions.LreException;
 import com.lre.common.utils.JsonUtils;
 import com.lre.model.git.GitLabCommit;
+import com.lre.model.git.SyncHistory;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import static com.lre.common.constants.ConfigConstants.GIT_SYNC_JOURNAL_FILE;
+import static com.lre.common.constants.ConfigConstants.SYNC_JOURNAL_ARTIFACT_PATH;
+
+/**
+ * Loads and saves the sync history, plus a journal of the uploads and deletes of the running sync.
+ * <p>
+ * Every successful upload or delete is appended to the journal and fsync'd as it happens. A completed
+ * sync merges it into the history and clears it; after a failed or interrupted sync the journal is
+ * replayed onto the loaded history, so the next run only retries the scripts that did not finish.
+ * The history keeps the previous branch head until a sync completes.
+ * <p>
+ * The journal lives next to the history file, so a sync job that publishes that directory with
+ * {@code artifacts:when: always} hands it on. When no local journal exists it is restored from the
+ * last sync job on the branch if that job failed; restored entries stay in the journal, so it keeps
+ * accumulating across failed runs until one completes.
+ */
 @Slf4j
 public record CommitHistoryManager(GitLabRestApis gitLabRestApis, Path historyFile) {
 
-    public List<GitLabCommit> loadHistory() {
+    private enum JournalAction {UPLOAD, DELETE}
+
+    public record JournalEntry(JournalAction action, GitLabCommit commit) {
+    }
+
+    public SyncHistory loadHistory() {
+        SyncHistory history = SyncHistory.empty();
         try {
             Files.createDirectories(historyFile.getParent());
             if (downloadFromGitLab()) {
-                return readFromFile();
+                history = readFromFile();
+            } else {
+                log.info("No commit history found, starting fresh");
             }
-            log.info("No commit history found, starting fresh");
-            return List.of();
         } catch (IOException e) {
             log.warn("Failed to load commit history", e);
-            return List.of();
         }
+        restoreJournal();
+        return replayJournal(history);
     }
 
-    public void saveHistory(List<GitLabCommit> commits) {
+    /**
+     * Saves the history atomically and clears the journal it now includes.
+     */
+    public synchronized void saveHistory(SyncHistory history) {
+        List<GitLabCommit> commits = history.getCommits();
         try {
             Files.createDirectories(historyFile.getParent());
-            String json = JsonUtils.toJson(commits);
+            String json = JsonUtils.toJson(history);
             Path tempFile = Files.createTempFile(historyFile.getParent(), "commit-history", ".tmp");
-            Files.writeString(tempFile, json, StandardCharsets.UTF_8);
-            Files.move(tempFile, historyFile, StandardCopyOption.REPLACE_EXISTING);
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8)));
+                channel.force(true);
+            }
+            Files.move(tempFile, historyFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.deleteIfExists(journalFile());
             log.debug("Saved commit history for {} scripts", commits.size());
         } catch (IOException e) {
             throw new LreException("Failed to save commit history", e);
         }
     }
 
+    public void recordUpload(GitLabCommit commit) {
+        appendToJournal(new JournalEntry(JournalAction.UPLOAD, commit));
+    }
+
+    public void recordDelete(GitLabCommit commit) {
+        appendToJournal(new JournalEntry(JournalAction.DELETE, commit));
+    }
+
+    /**
+     * Appends one JSON line and forces it to disk. Failures are logged; they only cost a retry later.
+     */
+    private synchronized void appendToJournal(JournalEntry entry) {
+        byte[] line = (JsonUtils.toJson(entry) + "\n").getBytes(StandardCharsets.UTF_8);
+        try {
+            Files.createDirectories(historyFile.getParent());
+            try (FileChannel channel = FileChannel.open(journalFile(),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                channel.write(ByteBuffer.wrap(line));
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to journal {} of {}: {}", entry.action(), entry.commit().getPath(), e.getMessage());
+        }
+    }
+
+    /**
+     * Applies the journal of an unfinished sync to the history. A torn last line from a crash is skipped.
+     */
+    private SyncHistory replayJournal(SyncHistory history) {
+        Path journal = journalFile();
+        if (!Files.exists(journal)) return history;
+
+        Map<String, GitLabCommit> commits = new LinkedHashMap<>();
+        history.getCommits().forEach(commit -> commits.put(commit.getPath(), commit));
+        int replayed = 0;
+        try {
+            for (String line : Files.readAllLines(journal, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) continue;
+                JournalEntry entry;
+                try {
+                    entry = JsonUtils.fromJson(line, JournalEntry.class);
+                } catch (LreException e) {
+                    log.debug("Skipping unreadable sync journal line: {}", line);
+                    continue;
+                }
+                if (entry.action() == JournalAction.UPLOAD) commits.put(entry.commit().getPath(), entry.commit());
+                else commits.remove(entry.commit().getPath());
+                replayed++;
+            }
+        } catch (IOException e) {
+            log.warn("Failed to read sync journal {}: {}", journal, e.getMessage());
+            return history;
+        }
+
+        log.info("Resuming unfinished sync: replayed {} journaled uploads and deletes", replayed);
+        return new SyncHistory(history.getHeadSha(), new ArrayList<>(commits.values()));
+    }
+
+    /**
+     * Downloads the journal of a failed previous sync job unless this workspace already has one.
+     * Best effort: without it the next sync re-uploads what the failed job already synced.
+     */
+    private void restoreJournal() {
+        if (Files.exists(journalFile())) return;
+        try {
+            if (gitLabRestApis.downloadFailedJobArtifact(SYNC_JOURNAL_ARTIFACT_PATH, journalFile().toString())) {
+                log.info("Restored the sync journal of the last failed sync job");
+            }
+        } catch (LreException e) {
+            log.debug("No sync journal published by the last failed sync job: {}", e.getMessage());
+            try {
+                Files.deleteIfExists(journalFile());
+            } catch (IOException ignored) {
+                // A partial download fails to replay line by line and is skipped
+            }
+        }
+    }
+
+    private Path journalFile() {
+        return historyFile.resolveSibling(GIT_SYNC_JOURNAL_FILE);
+    }
+
     private boolean downloadFromGitLab() {
         try {
             return gitLabRestApis.downloadGitCommitHistoryArtifact(historyFile.toString());
@@ -58,8 +177,14 @@ public record CommitHistoryManager(GitLabRestApis gitLabRestApis, Path historyFi
         return errorDetails.toLowerCase().contains("status=404");
     }
 
-    private List<GitLabCommit> readFromFile() throws IOException {
-        String json = Files.readString(historyFile, StandardCharsets.UTF_8);
-        return JsonUtils.fromJsonArray(json, GitLabCommit.class);
+    /**
+     * Reads the history; files written before the head SHA was recorded hold a plain commit array.
+     */
+    private SyncHistory readFromFile() throws IOException {
+        String json = Files.readString(historyFile, StandardCharsets.UTF_8).strip();
+        if (json.startsWith("[")) return new SyncHistory("", JsonUtils.fromJsonArray(json, GitLabCommit.class));
+        SyncHistory history = JsonUtils.fromJson(json, SyncHistory.class);
+        if (history.getCommits() == null) history.setCommits(List.of());
+        return history;
     }
 }
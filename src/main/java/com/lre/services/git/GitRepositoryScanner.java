@@ -1,31 +1,77 @@
 package com.lre.services.git;
 
 import com.lre.client.api.gitlab.GitLabRestApis;
+import com.lre.common.exceptions.LreException;
 import com.lre.model.git.GitLabCommit;
+import com.lre.model.git.GitLabCompare;
 import com.lre.model.git.GitLabTreeItem;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static com.lre.client.api.builder.ApiUrlBuilderGitLab.GITLAB_PER_PAGE_RECORDS;
 
+/**
+ * Lists the script directories of the repository with the commit information used for change detection.
+ * <p>
+ * Only the subtrees below {@code scriptRoots} are listed (the whole repository when empty). Roots are
+ * listed concurrently, and once the first page reports the page count the remaining pages are fetched
+ * in parallel. Items are streamed into {@link TreeFingerprints} rather than collected.
+ * <p>
+ * With {@code treeFingerprints} every directory is fingerprinted from the blob IDs the tree listing
+ * already returns, and all scripts are pinned to the branch head commit, so a scan costs the tree
+ * pages plus one commit lookup. Otherwise the latest commit of each directory is fetched separately.
+ * {@link #scanChanges} avoids the full scan by comparing the last synced head with the current one,
+ * as long as the branch only moved forward from it.
+ */
 @Slf4j
-public record GitRepositoryScanner(GitLabRestApis gitLabRestApis, int threadPoolSize) {
+public record GitRepositoryScanner(GitLabRestApis gitLabRestApis, int threadPoolSize, boolean treeFingerprints,
+                                   List<String> scriptRoots) {
 
-    public List<GitLabCommit> scanScripts() {
-        Set<String> scriptDirs = findScriptDirectories();
-        log.debug("Found {} script directories", scriptDirs.size());
+    public GitRepositoryScanner {
+        scriptRoots = normalizeRoots(scriptRoots);
+    }
+
+    // GitLab truncates compare results beyond its diff file limit
+    private static final int COMPARE_MAX_DIFFS = 1000;
+
+    /**
+     * Latest commit of the branch, or an empty commit when it cannot be resolved.
+     */
+    public GitLabCommit fetchHead() {
+        GitLabCommit head = gitLabRestApis.getLatestCommitForPath(null);
+        return head != null ? head : new GitLabCommit();
+    }
+
+    public List<GitLabCommit> scanScripts(GitLabCommit head) {
+        TreeFingerprints tree = new TreeFingerprints(treeFingerprints);
+        long start = System.nanoTime();
+        scanTrees(head != null && !head.isEmpty() ? head.getSha() : null, scriptRoots, tree, true);
+        Set<String> scriptDirs = tree.scriptDirectories();
+        log.debug("Found {} script directories under {} in {} ms", scriptDirs.size(),
+                scriptRoots.equals(List.of("")) ? "the repository root" : scriptRoots,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
 
         if (scriptDirs.isEmpty()) {
             log.info("No script directories found in repository");
             return List.of();
         }
 
-        ExecutorService executor = Executors.newFixedThreadPool(threadPoolSize);
+        if (treeFingerprints) return fingerprintScripts(tree, head);
+        return fetchCommitsForPaths(scriptDirs);
+    }
+
+    /**
+     * Fetches the latest commit of every path concurrently; paths whose lookup fails are skipped.
+     */
+    private List<GitLabCommit> fetchCommitsForPaths(Collection<String> paths) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threadPoolSize));
         try {
-            List<Future<GitLabCommit>> futures = scriptDirs.stream()
+            List<Future<GitLabCommit>> futures = paths.stream()
                     .map(path -> executor.submit(() -> fetchCommitForPath(path)))
                     .toList();
 
@@ -44,6 +90,92 @@ public record GitRepositoryScanner(GitLabRestApis gitLabRestApis, int threadPool
         }
     }
 
+    /**
+     * Derives the current script list from the previous one and the paths changed between the
+     * last synced head and the current head. Only the affected script directories are listed.
+     *
+     * @return empty when the compare is unavailable or incomplete and a full scan is needed
+     */
+    public Optional<List<GitLabCommit>> scanChanges(List<GitLabCommit> previous, String fromSha, GitLabCommit head) {
+        if (StringUtils.isBlank(fromSha) || head.isEmpty()) return Optional.empty();
+        if (fromSha.equals(head.getSha())) {
+            log.info("Branch head {} is unchanged since the last sync", head.getSha());
+            return Optional.of(previous);
+        }
+
+        GitLabCompare compare;
+        try {
+            // After a force push the old head's changes are not in a compare to the new head
+            if (!gitLabRestApis.isAncestor(fromSha, head.getSha())) {
+                log.info("Last synced head {} is not an ancestor of {}; falling back to a full scan",
+                        abbreviate(fromSha), abbreviate(head.getSha()));
+                return Optional.empty();
+            }
+            compare = gitLabRestApis.compare(fromSha, head.getSha());
+        } catch (LreException e) {
+            log.warn("Cannot compare last synced head {} with {}; falling back to a full scan: {}",
+                    fromSha, head.getSha(), e.getMessage());
+            return Optional.empty();
+        }
+        if (compare == null || compare.isCompareTimeout() || compare.getDiffs().size() >= COMPARE_MAX_DIFFS) {
+            log.info("Compare {}..{} is incomplete; falling back to a full scan", fromSha, head.getSha());
+            return Optional.empty();
+        }
+
+        Set<String> knownDirs = previous.stream().map(GitLabCommit::getPath).collect(Collectors.toSet());
+        Set<String> affectedDirs = findAffectedDirectories(compare.getDiffs(), knownDirs);
+        affectedDirs.removeIf(dir -> !isUnderRoots(dir));
+        log.info("Compare {}..{}: {} changed paths affect {} script directories",
+                abbreviate(fromSha), abbreviate(head.getSha()), compare.getDiffs().size(), affectedDirs.size());
+
+        TreeFingerprints tree = new TreeFingerprints(true);
+        try {
+            // Nested directories are covered by their ancestor's listing; listing both would fold
+            // their items in twice. A directory that no longer exists is listed as empty.
+            scanTrees(head.getSha(), outermost(affectedDirs), tree, false);
+        } catch (LreException e) {
+            log.warn("Failed to list changed script directories; falling back to a full scan: {}", e.getMessage());
+            return Optional.empty();
+        }
+
+        Map<String, GitLabCommit> current = new LinkedHashMap<>();
+        previous.forEach(commit -> current.put(commit.getPath(), commit));
+        for (String dir : affectedDirs) {
+            if (tree.scriptDirectories().contains(dir)) {
+                current.put(dir, headCommit(head, dir, tree.fingerprintOf(dir)));
+            } else {
+                current.remove(dir);
+            }
+        }
+        return Optional.of(new ArrayList<>(current.values()));
+    }
+
+    /**
+     * The directories that are not below another directory of the set.
+     */
+    private static List<String> outermost(Set<String> dirs) {
+        return dirs.stream()
+                .filter(dir -> dirs.stream().noneMatch(other -> dir.startsWith(other + "/")))
+                .toList();
+    }
+
+    /**
+     * Maps changed paths to script directories: known directories containing them and parents of changed .usr files.
+     */
+    private static Set<String> findAffectedDirectories(List<GitLabCompare.Diff> diffs, Set<String> knownDirs) {
+        Set<String> affected = new LinkedHashSet<>();
+        for (GitLabCompare.Diff diff : diffs) {
+            for (String path : new String[]{diff.getOldPath(), diff.getNewPath()}) {
+                if (StringUtils.isBlank(path)) continue;
+                if (path.endsWith(".usr") && path.contains("/")) affected.add(TreeFingerprints.parentOf(path));
+                for (String dir = TreeFingerprints.parentOf(path); !dir.isEmpty(); dir = TreeFingerprints.parentOf(dir)) {
+                    if (knownDirs.contains(dir)) affected.add(dir);
+                }
+            }
+        }
+        return affected;
+    }
+
     private GitLabCommit fetchCommitForPath(String path) {
         GitLabCommit commit = gitLabRestApis.getLatestCommitForPath(path);
         if (commit == null || commit.isEmpty()) {
@@ -54,30 +186,117 @@ public record GitRepositoryScanner(GitLabRestApis gitLabRestApis, int threadPool
         return commit;
     }
 
-    private Set<String> findScriptDirectories() {
-        List<GitLabTreeItem> allItems = scanEntireRepository();
-        return allItems.stream()
-                .filter(i -> "blob".equals(i.getType()) && i.getName().endsWith(".usr"))
-                .map(i -> i.getPath().substring(0, i.getPath().lastIndexOf('/')))
-                .collect(Collectors.toSet());
+    private List<GitLabCommit> fingerprintScripts(TreeFingerprints tree, GitLabCommit head) {
+        if (head == null || head.isEmpty()) {
+            log.warn("Could not resolve the branch head commit; fetching commits per script directory");
+            return fetchCommitsForPaths(tree.scriptDirectories());
+        }
+
+        List<GitLabCommit> commits = tree.scriptDirectories().stream()
+                .map(dir -> headCommit(head, dir, tree.fingerprintOf(dir)))
+                .toList();
+        log.debug("Fingerprinted {} script directories at head {}", commits.size(), head.getSha());
+        return commits;
+    }
+
+    private static GitLabCommit headCommit(GitLabCommit head, String dir, String contentHash) {
+        GitLabCommit commit = new GitLabCommit(head.getSha(), head.getCommittedDate(), dir);
+        commit.setContentHash(contentHash);
+        return commit;
     }
 
-    private List<GitLabTreeItem> scanEntireRepository() {
-        List<GitLabTreeItem> all = new ArrayList<>();
-        int page = 1;
-        boolean hasMoreItems = true;
+    /**
+     * Streams the recursive trees below the given paths into the consumer. The first page of every
+     * path is fetched concurrently; the remaining pages are fanned out by the reported page count,
+     * or fetched one after another when GitLab does not report it.
+     *
+     * @param ref         commit to list, so pages fetched while the branch moves stay consistent;
+     *                    the branch when null
+     * @param warnMissing log and skip paths that do not exist instead of treating them as empty
+     */
+    private void scanTrees(String ref, List<String> paths, Consumer<GitLabTreeItem> consumer, boolean warnMissing) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threadPoolSize));
+        try {
+            List<Future<GitLabRestApis.TreePage>> firstPages = paths.stream()
+                    .map(path -> executor.submit(() -> gitLabRestApis.forEachTreeItem(ref, path, 1, consumer)))
+                    .toList();
 
-        while (hasMoreItems) {
-            List<GitLabTreeItem> items = Optional.ofNullable(gitLabRestApis.getRepositoryTree(page)).orElse(List.of());
-            if (items.isEmpty()) hasMoreItems = false;
-            else {
-                all.addAll(items);
-                hasMoreItems = items.size() == GITLAB_PER_PAGE_RECORDS;
-                page++;
+            List<Future<?>> remainingPages = new ArrayList<>();
+            for (int i = 0; i < paths.size(); i++) {
+                String path = paths.get(i);
+                GitLabRestApis.TreePage first;
+                try {
+                    first = await(firstPages.get(i));
+                } catch (LreException e) {
+                    if (!isNotFound(e)) throw e;
+                    if (warnMissing) log.warn("Script root '{}' does not exist on the branch", path);
+                    continue;
+                }
+
+                if (first.totalPages() > 1) {
+                    for (int page = 2; page <= first.totalPages(); page++) {
+                        int pageNumber = page;
+                        remainingPages.add(executor.submit(() -> gitLabRestApis.forEachTreeItem(ref, path, pageNumber, consumer)));
+                    }
+                } else if (first.totalPages() == 0 && first.items() == GITLAB_PER_PAGE_RECORDS) {
+                    remainingPages.add(executor.submit(() -> scanSequentially(ref, path, consumer)));
+                }
             }
+            remainingPages.forEach(GitRepositoryScanner::await);
+        } finally {
+            shutdownExecutor(executor);
         }
+    }
+
+    private void scanSequentially(String ref, String path, Consumer<GitLabTreeItem> consumer) {
+        int page = 2;
+        GitLabRestApis.TreePage result;
+        do {
+            result = gitLabRestApis.forEachTreeItem(ref, path, page++, consumer);
+        } while (result.items() == GITLAB_PER_PAGE_RECORDS);
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LreException("Repository tree scan interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof LreException lreException) throw lreException;
+            throw new LreException("Repository tree scan failed", e.getCause());
+        }
+    }
+
+    private static boolean isNotFound(LreException e) {
+        String errorDetails = e.getMessage() + " " + (e.getCause() != null ? e.getCause().getMessage() : "");
+        return errorDetails.toLowerCase().contains("status=404");
+    }
+
+    private boolean isUnderRoots(String dir) {
+        return scriptRoots.stream().anyMatch(root -> root.isEmpty() || dir.equals(root) || dir.startsWith(root + "/"));
+    }
+
+    /**
+     * Strips slashes and drops roots nested in other roots; the repository root when none are given.
+     */
+    private static List<String> normalizeRoots(List<String> roots) {
+        List<String> normalized = Optional.ofNullable(roots).orElse(List.of()).stream()
+                .map(root -> StringUtils.strip(StringUtils.trimToEmpty(root).replace('\\', '/'), "/"))
+                .distinct()
+                .sorted()
+                .toList();
+        if (normalized.isEmpty() || normalized.contains("")) return List.of("");
+
+        List<String> result = new ArrayList<>();
+        for (String root : normalized) {
+            if (result.stream().noneMatch(parent -> root.startsWith(parent + "/"))) result.add(root);
+        }
+        return List.copyOf(result);
+    }
 
-        return all;
+    private static String abbreviate(String sha) {
+        return sha.substring(0, Math.min(8, sha.length()));
     }
 
     private void shutdownExecutor(ExecutorService executor) {
@@ -4,12 +4,19 @@ import com.lre.client.api.gitlab.GitLabRestApis;
 import com.lre.common.exceptions.LreException;
 import com.lre.common.utils.CommonUtils;
 import com.lre.model.git.GitLabCommit;
+import com.lre.model.script.ScriptPackage;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Strings;
 
-import java.io.IOException;
+import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
 
 import static com.lre.common.utils.CommonUtils.deleteFolder;
 
@@ -18,7 +25,7 @@ import static com.lre.common.utils.CommonUtils.deleteFolder;
  * Structure:
  * <temp-directory>/lre_sync/<commit-folder>/
  *     packaged/<zip-file>
- * Archive and extracted folders are deleted after packaging.
+ * The archive folder is deleted after packaging.
  */
 @Slf4j
 public record GitScriptPackager(GitLabRestApis gitLabRestApis) {
@@ -26,73 +33,233 @@ public record GitScriptPackager(GitLabRestApis gitLabRestApis) {
     private static final Path ROOT_SYNC_DIR = Paths.get(System.getProperty("java.io.tmpdir"), "lre_sync");
 
     /**
-     * Prepares a packaged zip for a commit.
-     *
-     * @param commit the GitLab commit
-     * @return path to packaged zip ready for upload
+     * Downloads the repository archive of a commit path into its temp directory.
+     */
+    public Path downloadArchive(GitLabCommit commit, Path commitTempDir) throws IOException {
+        Path archiveDir = Files.createDirectories(commitTempDir.resolve("archive"));
+        Path archivePath = archiveDir.resolve("gitlab-archive.zip");
+        log.debug("Downloading repository archive for commit {} into {}", commit.getSha(), archivePath);
+        boolean success = gitLabRestApis.downloadRepositoryArchive(
+                commit.getSha(), commit.getPath(), archivePath.toString()
+        );
+        if (!success) {
+            throw new LreException("Failed to download repository archive for: " + commit.getPath());
+        }
+        return archivePath;
+    }
+
+    /**
+     * Repackages a downloaded archive into the zip layout LRE expects.
+     * <p>
+     * The archive is streamed entry by entry straight into the package: the GitLab top-level
+     * folder and the script path are stripped and everything outside the script directory is
+     * dropped, so nothing is extracted to disk. Packages up to {@code memoryCapBytes} stay in
+     * memory and are uploaded from there; larger ones spill to {@code packaged/<zip-file>}.
+     * Archives with an unexpected layout fall back to extracting and searching for the
+     * {@code .usr} file. The archive is deleted afterwards.
      */
-    public Path prepare(GitLabCommit commit) throws IOException {
-        Path commitTempDir = null;
+    public ScriptPackage packageArchive(GitLabCommit commit, Path commitTempDir, Path archivePath,
+                                        long memoryCapBytes) throws IOException {
+        Path packagedDir = Files.createDirectories(commitTempDir.resolve("packaged"));
+        Path packagedZip = packagedDir.resolve(generateZipFileName(commit));
+
+        int[] entries = new int[1];
+        ScriptPackage scriptPackage = ScriptPackage.write(packagedZip, memoryCapBytes,
+                out -> entries[0] = repackageStreaming(archivePath, commit.getPath(), out));
+        if (entries[0] == 0) {
+            log.debug("No entries under '{}' in archive of commit {}; extracting to locate the .usr file",
+                    commit.getPath(), commit.getSha());
+            packageExtracted(commitTempDir, archivePath, packagedZip);
+            scriptPackage = ScriptPackage.ofFile(packagedZip);
+        }
 
+        log.debug("Packaged {} (commit {}) into {} ({} bytes, {})", commit.getPath(), commit.getSha(),
+                packagedZip.getFileName(), scriptPackage.getSize(), scriptPackage.isInMemory() ? "in memory" : "on disk");
+
+        deleteFolder(archivePath.getParent());
+        return scriptPackage;
+    }
+
+    /**
+     * Packages several scripts of one commit from a single archive of their common parent path.
+     * The archive is split into per-script packages in one streaming pass.
+     *
+     * @param commits    scripts sharing {@code sha}
+     * @param workspaces per-script temp directories; packages that spill are written there
+     * @return packages aligned with {@code commits}; null for scripts without a top-level .usr file
+     */
+    public List<ScriptPackage> packageBulk(String sha, List<GitLabCommit> commits, List<Path> workspaces,
+                                           long memoryCapBytes) throws IOException {
+        GitLabCommit bulkCommit = new GitLabCommit(sha, "", commonParent(commits));
+        Path bulkDir = createCommitTempDir(new GitLabCommit(sha, "", "bulk-" + sha));
         try {
-            // Ensure root directory exists
-            Files.createDirectories(ROOT_SYNC_DIR);
-
-            // Create a commit-specific folder using last segment of commit.path
-            commitTempDir = createCommitTempDir(commit);
-
-            // Prepare subfolders
-            Path archiveDir = commitTempDir.resolve("archive");
-            Path extractedDir = commitTempDir.resolve("extracted");
-            Path packagedDir = commitTempDir.resolve("packaged");
-            Files.createDirectories(archiveDir);
-            Files.createDirectories(extractedDir);
-            Files.createDirectories(packagedDir);
-
-            // Download archive
-            Path archivePath = archiveDir.resolve("gitlab-archive.zip");
-            log.debug("Downloading repository archive for commit {} into {}", commit.getSha(), archivePath);
-            boolean success = gitLabRestApis.downloadRepositoryArchive(
-                    commit.getSha(), commit.getPath(), archivePath.toString()
-            );
-            if (!success) {
-                throw new LreException("Failed to download repository archive for: " + commit.getPath());
+            Path archive = downloadArchive(bulkCommit, bulkDir);
+
+            Map<String, ScriptZip> zips = new HashMap<>();
+            List<ScriptPackage.Spool> spools = new ArrayList<>();
+            try {
+                for (int i = 0; i < commits.size(); i++) {
+                    Path packagedDir = Files.createDirectories(workspaces.get(i).resolve("packaged"));
+                    ScriptPackage.Spool spool = ScriptPackage.spool(
+                            packagedDir.resolve(generateZipFileName(commits.get(i))), memoryCapBytes);
+                    spools.add(spool);
+                    zips.put(normalizeScriptPath(commits.get(i).getPath()), new ScriptZip(spool));
+                }
+                splitArchive(archive, zips);
+            } finally {
+                for (ScriptZip zip : zips.values()) zip.close();
             }
 
-            // Extract archive
-            CommonUtils.unzip(archivePath.toFile(), extractedDir.toFile());
+            List<ScriptPackage> packages = new ArrayList<>();
+            for (int i = 0; i < commits.size(); i++) {
+                boolean complete = zips.get(normalizeScriptPath(commits.get(i).getPath())).isComplete();
+                packages.add(complete ? spools.get(i).toPackage() : null);
+            }
+            log.debug("Split archive of '{}' at {} into {} of {} script packages", bulkCommit.getPath(), sha,
+                    packages.stream().filter(Objects::nonNull).count(), commits.size());
+            return packages;
+        } finally {
+            deleteFolder(bulkDir);
+        }
+    }
 
-            // Find the .usr directory
-            Path usrDir = findUsrParent(extractedDir);
+    /**
+     * Copies the entries below {@code <top-level>/<scriptPath>/} of a GitLab archive into a new zip,
+     * relative to the script directory.
+     *
+     * @return number of entries written, 0 when the script directory was not found
+     */
+    private int repackageStreaming(Path archivePath, String scriptPath, OutputStream target) throws IOException {
+        ScriptZip zip = new ScriptZip(target);
+        try (zip) {
+            splitArchive(archivePath, Map.of(normalizeScriptPath(scriptPath), zip));
+        }
 
-            // Package into ZIP
-            Path packagedZip = packagedDir.resolve(generateZipFileName(commit));
-            CommonUtils.createZipFile(usrDir, packagedZip);
+        if (zip.written > 0 && !zip.hasUsr) {
+            log.debug("Script directory '{}' has no top-level .usr file", scriptPath);
+        }
+        return zip.isComplete() ? zip.written : 0;
+    }
 
-            log.debug("Packaged {} (commit {}) into {} ({} bytes)",
-                    commit.getPath(), commit.getSha(), packagedZip, Files.size(packagedZip));
+    /**
+     * Streams a GitLab archive once, writing every entry into the zip of each script directory
+     * containing it. Keys of {@code zips} are repository paths of script directories.
+     */
+    private static void splitArchive(Path archivePath, Map<String, ScriptZip> zips) throws IOException {
+        try (ZipInputStream in = new ZipInputStream(new BufferedInputStream(Files.newInputStream(archivePath)))) {
+            ZipEntry entry;
+            List<ScriptZip> targets = new ArrayList<>();
+            List<String> entryNames = new ArrayList<>();
+            while ((entry = in.getNextEntry()) != null) {
+                String name = entry.getName();
+                int topLevelEnd = name.indexOf('/');
+                if (topLevelEnd < 0) continue;
 
-            // Delete intermediate folders
-            deleteFolder(archiveDir);
-            deleteFolder(extractedDir);
+                String relative = Strings.CS.removeEnd(name.substring(topLevelEnd + 1), "/");
+                targets.clear();
+                entryNames.clear();
+                for (int slash = relative.lastIndexOf('/'); slash > 0; slash = relative.lastIndexOf('/', slash - 1)) {
+                    ScriptZip zip = zips.get(relative.substring(0, slash));
+                    if (zip != null) {
+                        targets.add(zip);
+                        entryNames.add(relative.substring(slash + 1) + (entry.isDirectory() ? "/" : ""));
+                    }
+                }
+                if (targets.isEmpty()) continue;
 
-            return packagedZip;
+                // Nested script directories share entries; buffer them only in that case
+                byte[] data = targets.size() > 1 && !entry.isDirectory() ? in.readAllBytes() : null;
+                for (int i = 0; i < targets.size(); i++) {
+                    targets.get(i).add(entry, entryNames.get(i), data != null ? new ByteArrayInputStream(data) : in);
+                }
+            }
+        }
+    }
+
+    /**
+     * Zip output for one script directory, tracking whether it received a top-level .usr file.
+     */
+    private static final class ScriptZip implements Closeable {
+        private final ZipOutputStream out;
+        private int written;
+        private boolean hasUsr;
 
-        } catch (Exception e) {
-            if (commitTempDir != null) deleteFolder(commitTempDir);
-            throw e;
+        private ScriptZip(OutputStream target) {
+            this.out = new ZipOutputStream(new BufferedOutputStream(target));
+        }
+
+        private void add(ZipEntry source, String entryName, InputStream content) throws IOException {
+            ZipEntry target = new ZipEntry(entryName);
+            if (source.getLastModifiedTime() != null) target.setLastModifiedTime(source.getLastModifiedTime());
+            out.putNextEntry(target);
+            if (!source.isDirectory()) content.transferTo(out);
+            out.closeEntry();
+
+            hasUsr |= !source.isDirectory() && entryName.indexOf('/') < 0 && entryName.endsWith(".usr");
+            written++;
+        }
+
+        private boolean isComplete() {
+            return written > 0 && hasUsr;
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    private static String normalizeScriptPath(String scriptPath) {
+        return StringUtils.strip(scriptPath.replace('\\', '/'), "/");
+    }
+
+    /**
+     * Whether a script path lies below a directory; every path is below the repository root.
+     */
+    static boolean isBelow(String scriptPath, String directory) {
+        String path = normalizeScriptPath(scriptPath);
+        return directory.isEmpty() || path.startsWith(directory + "/");
+    }
+
+    /**
+     * Deepest directory containing all script paths; empty for the repository root.
+     */
+    static String commonParent(List<GitLabCommit> commits) {
+        String common = null;
+        for (GitLabCommit commit : commits) {
+            String path = normalizeScriptPath(commit.getPath());
+            int lastSlash = path.lastIndexOf('/');
+            String parent = lastSlash > 0 ? path.substring(0, lastSlash) : "";
+            if (common == null) common = parent;
+            while (!common.isEmpty() && !(parent.equals(common) || parent.startsWith(common + "/"))) {
+                int slash = common.lastIndexOf('/');
+                common = slash > 0 ? common.substring(0, slash) : "";
+            }
+        }
+        return common != null ? common : "";
+    }
+
+    private void packageExtracted(Path commitTempDir, Path archivePath, Path packagedZip) throws IOException {
+        Path extractedDir = Files.createDirectories(commitTempDir.resolve("extracted"));
+        try {
+            CommonUtils.unzip(archivePath.toFile(), extractedDir.toFile());
+            CommonUtils.createZipFile(findUsrParent(extractedDir), packagedZip);
+        } finally {
+            deleteFolder(extractedDir);
         }
     }
 
     /**
-     * Creates a lowercase commit-specific temp directory under ROOT_SYNC_DIR
-     * using the last segment of commit.path.
+     * Creates a unique commit-specific temp directory under ROOT_SYNC_DIR, named after
+     * the last segment of commit.path. Scripts with the same name in different folders
+     * get their own directories, so they can be packaged concurrently.
      */
-    private Path createCommitTempDir(GitLabCommit commit) {
+    public Path createCommitTempDir(GitLabCommit commit) throws IOException {
+        Files.createDirectories(ROOT_SYNC_DIR);
         String path = commit.getPath();
         String lastSegment = path.contains("/") ? path.substring(path.lastIndexOf("/") + 1) : path;
         String safeName = lastSegment.replaceAll("[^a-zA-Z0-9._-]", "_").toLowerCase();
-        return ROOT_SYNC_DIR.resolve(safeName);
+        return Files.createTempDirectory(ROOT_SYNC_DIR, safeName + "-");
     }
 
     private Path findUsrParent(Path root) throws IOException {
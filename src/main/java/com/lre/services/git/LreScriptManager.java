@@ -3,31 +3,46 @@ package com.lre.services.git;
 import com.lre.client.api.lre.LreRestApis;
 import com.lre.common.exceptions.LreException;
 import com.lre.client.runmodel.LreTestRunModel;
+import com.lre.model.script.LreScript;
+import com.lre.model.script.ScriptIndex;
+import com.lre.model.script.ScriptPackage;
 import com.lre.model.test.testcontent.groups.script.Script;
 import com.lre.services.lre.execution.LreTestManager;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
-import java.nio.file.Path;
-import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Handles uploading and deleting scripts in LoadRunner Enterprise.
+ * Safe for concurrent uploads and deletes.
  */
 @Slf4j
 public class LreScriptManager {
     private final LreRestApis lreRestApis;
-    private final List<Script> scriptCache;
+    private final LreTestManager testManager;
+    @Getter
+    private final ScriptIndex scriptIndex;
+    // Test plan folders verified or being created in this sync, by lower-case path
+    private final Map<String, CompletableFuture<String>> ensuredTestPlans = new ConcurrentHashMap<>();
 
-    public LreScriptManager(LreRestApis restApis) {
+    public LreScriptManager(LreTestRunModel lreModel, LreRestApis restApis) {
         this.lreRestApis = restApis;
-        this.scriptCache = restApis.fetchAllScripts();
+        this.testManager = new LreTestManager(lreModel, restApis);
+        // Fresh listing: upload skips compare script IDs and LastModifyDate against it
+        this.scriptIndex = restApis.refreshScriptIndex();
+        log.debug("Indexed {} scripts", scriptIndex.size());
     }
     /**
-     * Uploads a script to LRE
+     * Uploads a packaged script into the given test plan folder, creating the folder when missing.
      */
-    public void upload(LreTestRunModel lreModel, Path scriptZip) {
-        new LreTestManager(lreModel, lreRestApis).uploadScriptsFromGitToLre(scriptZip);
-        log.debug("Uploaded script {}: zip: {}", lreModel.getTestName(), scriptZip.getFileName());
+    public void upload(String testFolderPath, ScriptPackage scriptPackage) {
+        LreScript uploaded = testManager.uploadScript(ensureTestPlan(testFolderPath), scriptPackage);
+        if (uploaded != null) scriptIndex.put(toScript(uploaded));
     }
 
     /**
@@ -36,21 +51,63 @@ public class LreScriptManager {
     public void delete(String folderPath, String scriptName) {
             Script lreScript = getScriptByName(folderPath, scriptName);
             lreRestApis.deleteScript(lreScript.getId());
+            scriptIndex.remove(lreScript);
             log.debug("Deleted script: {} , {}", folderPath, scriptName);
     }
 
 
     public Script getScriptByName(String testFolderPath, String scriptName) {
         log.debug("Searching for script - Folder: {}, Name: {}", testFolderPath, scriptName);
-        for (Script script : scriptCache) {
-            String scriptFolderPath = script.getTestFolderPath();
-            String scriptFileName = script.getName();
-            if (testFolderPath.equalsIgnoreCase(scriptFolderPath) && scriptName.equalsIgnoreCase(scriptFileName)) {
-                return script;
-            }
+        return scriptIndex.findByFolderAndName(testFolderPath, scriptName).orElseThrow(() -> {
+            String msg = String.format("No Script named '%s' was found under folder %s", scriptName, testFolderPath);
+            log.warn(msg);
+            return new LreException(msg);
+        });
+    }
+
+    /**
+     * Verifies or creates a test plan folder once per path. Uploads into other folders are not
+     * blocked meanwhile; parents are ensured first so sibling folders never create the same parent.
+     */
+    private String ensureTestPlan(String testFolderPath) {
+        String key = testFolderPath.toLowerCase(Locale.ROOT);
+        CompletableFuture<String> ensured = new CompletableFuture<>();
+        CompletableFuture<String> pending = ensuredTestPlans.putIfAbsent(key, ensured);
+        if (pending != null) return awaitTestPlan(pending);
+
+        try {
+            int parentEnd = testFolderPath.lastIndexOf('\\');
+            if (parentEnd > testFolderPath.indexOf('\\')) ensureTestPlan(testFolderPath.substring(0, parentEnd));
+            ensured.complete(testManager.ensureTestPlan(testFolderPath));
+        } catch (RuntimeException e) {
+            // Let a later upload retry the folder
+            ensuredTestPlans.remove(key, ensured);
+            ensured.completeExceptionally(e);
+            throw e;
         }
-        String msg = String.format("No Script named '%s' was found under folder %s", scriptName, testFolderPath);
-        log.warn(msg);
-        throw new LreException(msg);
+        return ensured.join();
+    }
+
+    private static String awaitTestPlan(CompletableFuture<String> pending) {
+        try {
+            return pending.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private static Script toScript(LreScript uploaded) {
+        Script script = new Script();
+        script.setId(uploaded.getId());
+        script.setName(uploaded.getName());
+        script.setTestFolderPath(uploaded.getTestFolderPath());
+        script.setProtocol(uploaded.getProtocol());
+        script.setCreatedBy(uploaded.getCreatedBy());
+        script.setWorkingMode(uploaded.getWorkingMode());
+        script.setCreationDate(uploaded.getCreationDate());
+        script.setLastModifyDate(uploaded.getLastModifyDate());
+        script.setIsScriptLocked(uploaded.isScriptLocked());
+        script.setSplitScriptResponse(uploaded.getSplitScriptResponse());
+        return script;
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,7 @@ package com.lre.services.git;
 
 import com.lre.client.api.gitlab.GitLabRestApis;
 import com.lre.client.api.lre.LreRestApis;
+import com.lre.client.runmodel.GitTestRunModel;
 import com.lre.client.runmodel.LreTestRunModel;
 import com.lre.common.utils.CommonUtils;
 import com.lre.model.git.GitLabCommit;
@@ -9,9 +10,9 @@ import com.lre.model.git.GitToLreSyncResult;
 import com.lre.model.testplan.LreTestPlanCreationRequest;
 import lombok.extern.slf4j.Slf4j;
 
-import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import static com.lre.common.utils.CommonUtils.logTable;
 import static com.lre.common.utils.CommonUtils.normalizePathWithSubject;
@@ -24,57 +25,83 @@ import static org.apache.commons.lang3.StringUtils.truncate;
 @Slf4j
 public class LreSyncService {
 
-    private final GitScriptPackager scriptPackager;
-    private final LreTestRunModel lreModel;
     private final LreScriptManager scriptManager;
+    private final ScriptSyncPipeline pipeline;
+    private final ScriptPackageCache packageCache;
+    private final CommitHistoryManager historyManager;
     private final List<GitToLreSyncResult> results = new ArrayList<>();
     private static final int MESSAGE_LIMIT = 200;
 
     /**
      * Constructs the sync service with required dependencies.
      */
-    public LreSyncService(GitLabRestApis gitLabRestApis, LreTestRunModel lreModel, LreRestApis lreRestApis) {
-        this.scriptPackager = new GitScriptPackager(gitLabRestApis);
-        this.lreModel = lreModel;
-        this.scriptManager = new LreScriptManager(lreRestApis);
+    public LreSyncService(GitLabRestApis gitLabRestApis, GitTestRunModel gitModel,
+                          LreTestRunModel lreModel, LreRestApis lreRestApis, ScriptPackageCache packageCache,
+                          CommitHistoryManager historyManager) {
+        this.packageCache = packageCache;
+        this.historyManager = historyManager;
+        this.scriptManager = new LreScriptManager(lreModel, lreRestApis);
+        this.pipeline = new ScriptSyncPipeline(new GitScriptPackager(gitLabRestApis), scriptManager,
+                gitModel.getSyncFetchThreads(), gitModel.getSyncPackageThreads(), gitModel.getSyncUploadThreads(),
+                gitModel.getSyncSpoolMaxMb() * 1024L * 1024L, gitModel.isSyncBulkArchive());
     }
 
     /**
      * Uploads scripts from GitLab to LRE.
+     *
+     * @param repositoryScripts all scripts currently in the repository
      */
-    public boolean uploadScripts(List<GitLabCommit> commits) {
+    public boolean uploadScripts(List<GitLabCommit> commits, List<GitLabCommit> repositoryScripts) {
         if (commits == null || commits.isEmpty()) {
             log.info("No scripts to upload.");
             return true;
         }
 
-        boolean allSuccessful = true;
-
-        for (GitLabCommit commit : commits) {
-            deriveTestPlanDetails(commit);
-            String scriptName = commit.getPath();
-            String folderPath = lreModel.getTestFolderPath();
-            String scriptDisplayName = lreModel.getTestName();
-            String commitSha = commit.getSha().substring(0, Math.min(8, commit.getSha().length()));
-
-            try {
-                log.debug("Preparing script for upload: {}", scriptName);
-                Path scriptZip = scriptPackager.prepare(commit);
-                scriptManager.upload(lreModel, scriptZip);
-
-                addSyncResult(folderPath, scriptDisplayName, commitSha, SyncAction.UPLOAD, SyncStatus.SUCCESS, null);
-
-                log.debug("Successfully uploaded script: {}", scriptDisplayName);
-                scriptPackager.cleanupCommitTempDir(scriptZip.getParent().getParent());
+        List<ScriptSyncPipeline.UploadTask> tasks = commits.stream().map(commit -> {
+            LreTestPlanCreationRequest info = CommonUtils.fromGitPath(commit.getPath());
+            return new ScriptSyncPipeline.UploadTask(commit, normalizePathWithSubject(info.getPath()), info.getName());
+        }).toList();
+
+        List<ScriptSyncPipeline.UploadTask> toUpload = new ArrayList<>();
+        for (ScriptSyncPipeline.UploadTask task : tasks) {
+            Optional<ScriptPackageCache.Entry> cached = packageCache.findUploaded(task.commit().getContentHash(),
+                    task.testFolderPath(), task.scriptName(), scriptManager.getScriptIndex());
+            if (cached.isPresent()) {
+                historyManager.recordUpload(task.commit());
+                log.debug("Skipping upload of '{}': identical content is already script {} in LRE",
+                        task.commit().getPath(), cached.get().scriptId());
+                addSyncResult(task.testFolderPath(), task.scriptName(), shortSha(task.commit()), SyncAction.SKIPPED,
+                        SyncStatus.SUCCESS, "Identical content already in LRE (script ID " + cached.get().scriptId() + ")");
+            } else {
+                toUpload.add(task);
+            }
+        }
+        if (toUpload.size() < tasks.size()) {
+            log.info("Skipping {} of {} scripts already in LRE with identical content", tasks.size() - toUpload.size(), tasks.size());
+        }
 
-            } catch (Exception e) {
-                String msg = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
-                log.error("Failed to upload script '{}' (commit {}): {}", scriptName, commitSha, msg, e);
-                addSyncResult(folderPath, scriptDisplayName, commitSha, SyncAction.UPLOAD, SyncStatus.FAILED, msg);
+        boolean allSuccessful = true;
+        List<String> scriptPaths = repositoryScripts.stream().map(GitLabCommit::getPath).toList();
+
+        for (ScriptSyncPipeline.Outcome<ScriptSyncPipeline.UploadTask> outcome : pipeline.upload(toUpload, scriptPaths,
+                task -> historyManager.recordUpload(task.commit()))) {
+            ScriptSyncPipeline.UploadTask task = outcome.task();
+            String commitSha = shortSha(task.commit());
+
+            if (outcome.isSuccess()) {
+                addSyncResult(task.testFolderPath(), task.scriptName(), commitSha, SyncAction.UPLOAD, SyncStatus.SUCCESS, null);
+                scriptManager.getScriptIndex().findByFolderAndName(task.testFolderPath(), task.scriptName()).ifPresent(script ->
+                        packageCache.record(task.commit().getContentHash(), task.testFolderPath(), task.scriptName(), script));
+                log.debug("Successfully uploaded script: {}", task.scriptName());
+            } else {
+                String msg = errorMessage(outcome.error());
+                log.error("Failed to upload script '{}' (commit {}): {}", task.commit().getPath(), commitSha, msg, outcome.error());
+                addSyncResult(task.testFolderPath(), task.scriptName(), commitSha, SyncAction.UPLOAD, SyncStatus.FAILED, msg);
                 allSuccessful = false;
             }
         }
 
+        packageCache.save();
         return allSuccessful;
     }
 
@@ -89,34 +116,40 @@ public class LreSyncService {
 
         boolean allDeleted = true;
 
-        for (GitLabCommit commit : commits) {
-            String commitSha = commit.getSha().substring(0, Math.min(8, commit.getSha().length()));
+        List<ScriptSyncPipeline.Outcome<GitLabCommit>> outcomes = pipeline.runConcurrently(commits, commit -> {
+            LreTestPlanCreationRequest info = CommonUtils.fromGitPath(commit.getPath());
+            scriptManager.delete(normalizePathWithSubject(info.getPath()), info.getName());
+            historyManager.recordDelete(commit);
+        });
+
+        for (ScriptSyncPipeline.Outcome<GitLabCommit> outcome : outcomes) {
+            GitLabCommit commit = outcome.task();
+            String commitSha = shortSha(commit);
             LreTestPlanCreationRequest info = CommonUtils.fromGitPath(commit.getPath());
             String normalizedPath = normalizePathWithSubject(info.getPath());
             String scriptName = info.getName();
 
-            try {
-                scriptManager.delete(normalizedPath, scriptName);
+            if (outcome.isSuccess()) {
+                packageCache.forget(normalizedPath, scriptName);
                 addSyncResult(normalizedPath, scriptName, commitSha, SyncAction.DELETE, SyncStatus.SUCCESS, null);
-
-            } catch (Exception e) {
-                String msg = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+            } else {
+                String msg = errorMessage(outcome.error());
                 log.error("Failed to delete script '{}' (commit {}): {}", commit.getPath(), commitSha, msg);
                 addSyncResult(normalizedPath, scriptName, commitSha, SyncAction.DELETE, SyncStatus.FAILED, msg);
                 allDeleted = false;
             }
         }
 
+        packageCache.save();
         return allDeleted;
     }
 
-    /**
-     * Derives test plan details from the Git path and updates LRE model.
-     */
-    private void deriveTestPlanDetails(GitLabCommit commit) {
-        LreTestPlanCreationRequest info = CommonUtils.fromGitPath(commit.getPath());
-        lreModel.setTestFolderPath(normalizePathWithSubject(info.getPath()));
-        lreModel.setTestName(info.getName());
+    private static String shortSha(GitLabCommit commit) {
+        return commit.getSha().substring(0, Math.min(8, commit.getSha().length()));
+    }
+
+    private static String errorMessage(Exception e) {
+        return e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
     }
 
     /**
@@ -156,7 +189,8 @@ public class LreSyncService {
     private void addSyncResult(String folderPath, String scriptName, String commitSha,
                                SyncAction action, SyncStatus status, String message) {
         String finalMessage = switch (status) {
-            case SUCCESS -> action == SyncAction.UPLOAD ? "Uploaded successfully" : "Deleted successfully";
+            case SUCCESS -> message != null ? message
+                    : action == SyncAction.UPLOAD ? "Uploaded successfully" : "Deleted successfully";
             case FAILED -> truncate(message != null ? message : "Unknown error", MESSAGE_LIMIT);
         };
 
@@ -167,7 +201,7 @@ public class LreSyncService {
     /**
      * Defines the type of synchronization operation.
      */
-    private enum SyncAction {UPLOAD, DELETE}
+    private enum SyncAction {UPLOAD, DELETE, SKIPPED}
 
 
     /**
@@ -0,0 +1,120 @@
+package com.lre.services.git;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.lre.client.api.gitlab.GitLabRestApis;
+import com.lre.common.exceptions.LreException;
+import com.lre.common.utils.JsonUtils;
+import com.lre.model.script.ScriptIndex;
+import com.lre.model.test.testcontent.groups.script.Script;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.*;
+
+import static com.lre.common.constants.ConfigConstants.PACKAGE_CACHE_ARTIFACT_PATH;
+
+/**
+ * Records which script content is already in LRE, keyed by the content hash of the script directory.
+ * <p>
+ * Each hash maps to the LRE locations it was uploaded to, with the script ID and the modification
+ * date LRE reported. An upload is skipped only while LRE still holds a script with that ID and
+ * modification date at the same location, so scripts changed or re-created in LRE are uploaded
+ * again. The cache file is kept with the commit history and restored from the last job's artifacts.
+ */
+@Slf4j
+public class ScriptPackageCache {
+
+    public record Entry(String testFolderPath, String scriptName, int scriptId, String lastModifyDate, String uploadedAt) {
+        private boolean isAt(String folderPath, String name) {
+            return testFolderPath.equalsIgnoreCase(folderPath) && scriptName.equalsIgnoreCase(name);
+        }
+    }
+
+    private final GitLabRestApis gitLabRestApis;
+    private final Path cacheFile;
+    private final boolean enabled;
+    private final Map<String, List<Entry>> entriesByHash = new LinkedHashMap<>();
+
+    public ScriptPackageCache(GitLabRestApis gitLabRestApis, Path cacheFile, boolean enabled) {
+        this.gitLabRestApis = gitLabRestApis;
+        this.cacheFile = cacheFile;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Restores the cache from the last job's artifacts, or from the local file when none is published.
+     */
+    public void load() {
+        if (!enabled) return;
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            downloadFromGitLab();
+            if (!Files.exists(cacheFile)) return;
+            Map<String, List<Entry>> stored = JsonUtils.fromJson(
+                    Files.readString(cacheFile, StandardCharsets.UTF_8), new TypeReference<>() {});
+            entriesByHash.clear();
+            if (stored != null) entriesByHash.putAll(stored);
+            log.debug("Loaded script package cache with {} content hashes", entriesByHash.size());
+        } catch (Exception e) {
+            log.warn("Ignoring unreadable script package cache {}: {}", cacheFile, e.getMessage());
+            entriesByHash.clear();
+        }
+    }
+
+    /**
+     * Returns the entry when LRE already holds this content at the given location.
+     */
+    public Optional<Entry> findUploaded(String contentHash, String folderPath, String scriptName, ScriptIndex index) {
+        if (!enabled || StringUtils.isBlank(contentHash)) return Optional.empty();
+        return entriesByHash.getOrDefault(contentHash, List.of()).stream()
+                .filter(entry -> entry.isAt(folderPath, scriptName))
+                .filter(entry -> index.findByFolderAndName(folderPath, scriptName)
+                        .filter(script -> script.getId() == entry.scriptId()
+                                && Objects.equals(script.getLastModifyDate(), entry.lastModifyDate()))
+                        .isPresent())
+                .findFirst();
+    }
+
+    /**
+     * Records an upload, replacing any entry for the same location under another hash.
+     */
+    public void record(String contentHash, String folderPath, String scriptName, Script script) {
+        if (!enabled || StringUtils.isBlank(contentHash)) return;
+        forget(folderPath, scriptName);
+        entriesByHash.computeIfAbsent(contentHash, k -> new ArrayList<>()).add(new Entry(
+                folderPath, scriptName, script.getId(), script.getLastModifyDate(), Instant.now().toString()));
+    }
+
+    public void forget(String folderPath, String scriptName) {
+        if (!enabled) return;
+        entriesByHash.values().forEach(entries -> entries.removeIf(entry -> entry.isAt(folderPath, scriptName)));
+        entriesByHash.values().removeIf(List::isEmpty);
+    }
+
+    public void save() {
+        if (!enabled) return;
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            Path tempFile = Files.createTempFile(cacheFile.getParent(), "script-package-cache", ".tmp");
+            Files.writeString(tempFile, JsonUtils.toJson(entriesByHash), StandardCharsets.UTF_8);
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+            log.debug("Saved script package cache with {} content hashes", entriesByHash.size());
+        } catch (IOException e) {
+            log.warn("Failed to save script package cache: {}", e.getMessage());
+        }
+    }
+
+    private void downloadFromGitLab() {
+        try {
+            gitLabRestApis.downloadJobArtifact(PACKAGE_CACHE_ARTIFACT_PATH, cacheFile.toString());
+        } catch (LreException e) {
+            log.debug("No script package cache published by the last sync job: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package com.lre.services.git;
+
+import com.lre.common.exceptions.LreException;
+import com.lre.model.git.GitLabCommit;
+import com.lre.model.script.ScriptPackage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static com.lre.common.utils.CommonUtils.deleteFolder;
+
+/**
+ * Staged fetch → package → upload pipeline for syncing scripts from GitLab to LRE.
+ * <p>
+ * Every stage has its own thread pool, so archive downloads, repackaging and LRE uploads of
+ * different scripts overlap. The number of scripts between fetch and upload is bounded, which
+ * caps temp disk usage, and packaged scripts are uploaded in the order they finish packaging.
+ * Packages up to the spool cap are kept in memory and streamed from there into the upload
+ * request, so only large scripts are written to disk. Each script works in its own
+ * temp directory. When bulk archives are enabled, scripts sharing a commit are packaged in chunks
+ * of at most the in-flight limit from a single archive of their common parent path, as long as
+ * they make up at least half of the repository scripts below that path. Outcomes are returned in
+ * the order of the submitted tasks, independent of completion order.
+ */
+@Slf4j
+public class ScriptSyncPipeline {
+
+    /**
+     * One script to sync: the commit to package and the LRE test plan folder to upload into.
+     */
+    public record UploadTask(GitLabCommit commit, String testFolderPath, String scriptName) {
+    }
+
+    /**
+     * Result of one task; {@code error} is null on success.
+     */
+    public record Outcome<T>(T task, Exception error) {
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+
+    @FunctionalInterface
+    public interface TaskAction<T> {
+        void run(T task) throws Exception;
+    }
+
+    // Minimum share of the scripts below the common parent that a bulk chunk must cover
+    private static final double BULK_MIN_SHARE = 0.5;
+
+    private final GitScriptPackager packager;
+    private final LreScriptManager scriptManager;
+    private final int fetchThreads;
+    private final int packageThreads;
+    private final int uploadThreads;
+    private final long spoolMaxBytes;
+    private final boolean bulkArchive;
+
+    public ScriptSyncPipeline(GitScriptPackager packager, LreScriptManager scriptManager,
+                              int fetchThreads, int packageThreads, int uploadThreads, long spoolMaxBytes,
+                              boolean bulkArchive) {
+        this.packager = packager;
+        this.scriptManager = scriptManager;
+        this.fetchThreads = Math.max(1, fetchThreads);
+        this.packageThreads = Math.max(1, packageThreads);
+        this.uploadThreads = Math.max(1, uploadThreads);
+        this.spoolMaxBytes = Math.max(0, spoolMaxBytes);
+        this.bulkArchive = bulkArchive;
+    }
+
+    /**
+     * Packages and uploads all tasks through the pipeline.
+     *
+     * @param repositoryScripts paths of all script directories in the repository, used to decide
+     *                          whether a bulk archive would download mostly unchanged scripts
+     */
+    public List<Outcome<UploadTask>> upload(List<UploadTask> tasks, Collection<String> repositoryScripts) {
+        return upload(tasks, repositoryScripts, task -> {
+        });
+    }
+
+    /**
+     * Packages and uploads all tasks, calling {@code onUploaded} from the upload thread right after each success.
+     */
+    public List<Outcome<UploadTask>> upload(List<UploadTask> tasks, Collection<String> repositoryScripts,
+                                            Consumer<UploadTask> onUploaded) {
+        if (tasks.isEmpty()) return List.of();
+        int count = tasks.size();
+        Job[] jobs = new Job[count];
+        CountDownLatch done = new CountDownLatch(count);
+        // Scripts that may sit between fetch and upload at the same time
+        int inFlightCapacity = fetchThreads + packageThreads + 2 * uploadThreads;
+        Semaphore inFlight = new Semaphore(inFlightCapacity);
+        AtomicInteger completed = new AtomicInteger();
+
+        ExecutorService fetchPool = newPool("git-sync-fetch", fetchThreads, new LinkedBlockingQueue<>());
+        ExecutorService packagePool = newPool("git-sync-package", packageThreads, new LinkedBlockingQueue<>());
+        ExecutorService uploadPool = newPool("git-sync-upload", uploadThreads, new LinkedBlockingQueue<>());
+        Consumer<Job> perPath = job -> CompletableFuture.runAsync(job::fetch, fetchPool)
+                .thenRunAsync(job::pack, packagePool)
+                .whenComplete((ignored, error) -> {
+                    if (error != null) job.finish(unwrap(error));
+                    else uploadPool.execute(job);
+                });
+        long start = System.nanoTime();
+
+        try {
+            for (int i = 0; i < count; i++) {
+                jobs[i] = new Job(tasks.get(i), onUploaded, () -> {
+                    inFlight.release();
+                    log.info("Synced {}/{} scripts", completed.incrementAndGet(), count);
+                    done.countDown();
+                });
+            }
+
+            Map<Integer, List<Integer>> bulkChunks = bulkArchive
+                    ? bulkChunks(tasks, repositoryScripts, inFlightCapacity) : Map.of();
+            Set<Integer> bulkIndexes = new HashSet<>();
+            bulkChunks.values().forEach(bulkIndexes::addAll);
+
+            for (int i = 0; i < count; i++) {
+                List<Integer> chunk = bulkChunks.get(i);
+                if (chunk != null) {
+                    // A chunk never exceeds the capacity, so it takes all its permits up front
+                    inFlight.acquire(chunk.size());
+                    List<Job> group = chunk.stream().map(index -> jobs[index]).toList();
+                    fetchPool.execute(() -> packageBulk(group, uploadPool, perPath));
+                } else if (!bulkIndexes.contains(i)) {
+                    inFlight.acquire();
+                    perPath.accept(jobs[i]);
+                }
+            }
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LreException("Script sync interrupted", e);
+        } finally {
+            fetchPool.shutdownNow();
+            packagePool.shutdownNow();
+            uploadPool.shutdownNow();
+        }
+
+        log.info("Pipeline synced {} scripts in {} ms (fetch={}, package={}, upload={} threads)", count,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), fetchThreads, packageThreads, uploadThreads);
+        return Arrays.stream(jobs).map(job -> new Outcome<>(job.task, job.error)).toList();
+    }
+
+    /**
+     * Chunks of task indexes to package from one archive, keyed by their first index. Tasks sharing
+     * a commit are sorted by path and split into chunks of at most {@code maxChunkSize}, so each
+     * chunk's common parent stays narrow. A chunk is kept only when it covers at least
+     * {@link #BULK_MIN_SHARE} of the repository scripts below its common parent; the archive would
+     * otherwise be mostly scripts that did not change.
+     */
+    private static Map<Integer, List<Integer>> bulkChunks(List<UploadTask> tasks, Collection<String> repositoryScripts,
+                                                          int maxChunkSize) {
+        Map<String, List<Integer>> bySha = new LinkedHashMap<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            String sha = tasks.get(i).commit().getSha();
+            if (sha != null && !sha.isBlank()) bySha.computeIfAbsent(sha, k -> new ArrayList<>()).add(i);
+        }
+
+        Map<Integer, List<Integer>> chunks = new HashMap<>();
+        for (List<Integer> indexes : bySha.values()) {
+            if (indexes.size() < 2) continue;
+            List<Integer> sorted = indexes.stream()
+                    .sorted(Comparator.comparing((Integer i) -> tasks.get(i).commit().getPath()))
+                    .toList();
+            for (int from = 0; from < sorted.size(); from += maxChunkSize) {
+                List<Integer> chunk = sorted.subList(from, Math.min(from + maxChunkSize, sorted.size()));
+                if (chunk.size() < 2) continue;
+                String parent = GitScriptPackager.commonParent(chunk.stream().map(i -> tasks.get(i).commit()).toList());
+                long below = repositoryScripts.stream().filter(path -> GitScriptPackager.isBelow(path, parent)).count();
+                if (chunk.size() >= BULK_MIN_SHARE * below) {
+                    chunks.put(Collections.min(chunk), chunk);
+                } else {
+                    log.debug("Packaging {} scripts per path instead of archiving all {} scripts below '{}'",
+                            chunk.size(), below, parent);
+                }
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * Packages a group of scripts from one archive and queues them for upload. Scripts missing
+     * from the archive, or the whole group when the bulk download fails, go through the per-path stages.
+     */
+    private void packageBulk(List<Job> group, ExecutorService uploadPool, Consumer<Job> perPath) {
+        String sha = group.get(0).task.commit().getSha();
+        List<ScriptPackage> packages;
+        try {
+            List<Path> workspaces = new ArrayList<>();
+            for (Job job : group) {
+                job.workspace = packager.createCommitTempDir(job.task.commit());
+                workspaces.add(job.workspace);
+            }
+            packages = packager.packageBulk(sha, group.stream().map(job -> job.task.commit()).toList(), workspaces, spoolMaxBytes);
+        } catch (Exception e) {
+            log.warn("Bulk archive for {} scripts at {} failed; using per-path archives: {}", group.size(), sha, e.getMessage());
+            group.forEach(job -> {
+                job.resetWorkspace();
+                perPath.accept(job);
+            });
+            return;
+        }
+
+        for (int i = 0; i < group.size(); i++) {
+            Job job = group.get(i);
+            if (packages.get(i) != null) {
+                job.scriptPackage = packages.get(i);
+                job.packageSize = job.scriptPackage.getSize();
+                uploadPool.execute(job);
+            } else {
+                log.debug("{} not found in bulk archive; using a per-path archive", job.task.commit().getPath());
+                job.resetWorkspace();
+                perPath.accept(job);
+            }
+        }
+    }
+
+    /**
+     * Runs an action for every task on the upload-sized pool, e.g. script deletions.
+     */
+    public <T> List<Outcome<T>> runConcurrently(List<T> tasks, TaskAction<T> action) {
+        ExecutorService pool = newPool("git-sync-worker", uploadThreads, new LinkedBlockingQueue<>());
+        try {
+            List<Future<Exception>> futures = new ArrayList<>();
+            for (T task : tasks) {
+                futures.add(pool.submit(() -> {
+                    try {
+                        action.run(task);
+                        return null;
+                    } catch (Exception e) {
+                        return e;
+                    }
+                }));
+            }
+
+            List<Outcome<T>> outcomes = new ArrayList<>();
+            for (int i = 0; i < tasks.size(); i++) {
+                outcomes.add(new Outcome<>(tasks.get(i), futures.get(i).get()));
+            }
+            return outcomes;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LreException("Script sync interrupted", e);
+        } catch (ExecutionException e) {
+            throw new LreException("Script sync task failed unexpectedly", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static ExecutorService newPool(String name, int threads, BlockingQueue<Runnable> queue) {
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, queue, r -> {
+            Thread thread = new Thread(r, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static Exception unwrap(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof Exception exception ? exception : new LreException(cause.getMessage(), cause);
+    }
+
+    /**
+     * A script moving through the stages.
+     */
+    private final class Job implements Runnable {
+        private final UploadTask task;
+        private final Consumer<UploadTask> onUploaded;
+        private final Runnable onFinish;
+
+        private Path workspace;
+        private Path archive;
+        private ScriptPackage scriptPackage;
+        private long packageSize;
+        private volatile Exception error;
+
+        private Job(UploadTask task, Consumer<UploadTask> onUploaded, Runnable onFinish) {
+            this.task = task;
+            this.onUploaded = onUploaded;
+            this.onFinish = onFinish;
+        }
+
+        private void fetch() {
+            try {
+                workspace = packager.createCommitTempDir(task.commit());
+                archive = packager.downloadArchive(task.commit(), workspace);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }
+
+        private void pack() {
+            try {
+                scriptPackage = packager.packageArchive(task.commit(), workspace, archive, spoolMaxBytes);
+                packageSize = scriptPackage.getSize();
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                long start = System.nanoTime();
+                scriptManager.upload(task.testFolderPath(), scriptPackage);
+                log.debug("Uploaded {} ({} bytes) in {} ms", task.commit().getPath(), packageSize,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                onUploaded.accept(task);
+                finish(null);
+            } catch (Exception e) {
+                finish(e);
+            }
+        }
+
+        private void resetWorkspace() {
+            if (workspace != null) deleteFolder(workspace);
+            workspace = null;
+        }
+
+        private void finish(Exception failure) {
+            error = failure;
+            scriptPackage = null;
+            if (workspace != null) deleteFolder(workspace);
+            onFinish.run();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.lre.services.git;
 
 import com.lre.model.git.GitLabCommit;
+import org.apache.commons.lang3.StringUtils;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -47,9 +48,16 @@ public class SyncAnalyzer {
         return new SyncResult(toUpload, toDelete, unchanged);
     }
 
+    /**
+     * Compares content fingerprints when both sides have one, so a new commit that leaves the
+     * script directory identical (e.g. a revert) is not a change. Falls back to the commit SHA.
+     */
     private boolean hasChanged(GitLabCommit previous, GitLabCommit current) {
         if (previous == null || previous.isEmpty()) return !current.isEmpty();
         if (current == null || current.isEmpty()) return !previous.isEmpty();
+        if (StringUtils.isNotBlank(previous.getContentHash()) && StringUtils.isNotBlank(current.getContentHash())) {
+            return !previous.getContentHash().equals(current.getContentHash());
+        }
         return !Objects.equals(previous.getSha(), current.getSha());
     }
 
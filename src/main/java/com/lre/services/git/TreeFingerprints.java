@@ -0,0 +1,80 @@
+package com.lre.services.git;
+
+import com.lre.common.exceptions.LreException;
+import com.lre.model.git.GitLabTreeItem;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Collects script directories and their content fingerprints from a stream of tree items.
+ * <p>
+ * Items are consumed one by one, in any order and from several threads, and are not retained:
+ * every blob's digest of path, mode and object ID is folded (XOR) into an accumulator for each
+ * directory above it. Memory grows with the number of directories, not files. Paths are unique
+ * within a tree, so no digest is folded twice into the same accumulator.
+ */
+final class TreeFingerprints implements Consumer<GitLabTreeItem> {
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new LreException("SHA-256 is not available", e);
+        }
+    });
+
+    private final boolean fingerprint;
+    private final Set<String> scriptDirs = ConcurrentHashMap.newKeySet();
+    private final Map<String, byte[]> digestsByDir = new ConcurrentHashMap<>();
+
+    /**
+     * @param fingerprint false to only collect script directories
+     */
+    TreeFingerprints(boolean fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    @Override
+    public void accept(GitLabTreeItem item) {
+        if (!"blob".equals(item.getType())) return;
+        String path = item.getPath();
+        if (item.getName().endsWith(".usr") && path.contains("/")) scriptDirs.add(parentOf(path));
+        if (!fingerprint) return;
+
+        byte[] digest = SHA256.get().digest(
+                (path + " " + item.getMode() + " " + item.getId()).getBytes(StandardCharsets.UTF_8));
+        for (String dir = parentOf(path); !dir.isEmpty(); dir = parentOf(dir)) {
+            digestsByDir.merge(dir, digest, TreeFingerprints::xor);
+        }
+    }
+
+    Set<String> scriptDirectories() {
+        return scriptDirs;
+    }
+
+    /**
+     * Hex fingerprint of everything below the directory; empty when nothing was seen there.
+     */
+    String fingerprintOf(String dir) {
+        byte[] digest = digestsByDir.get(dir);
+        return digest != null ? HexFormat.of().formatHex(digest) : "";
+    }
+
+    static String parentOf(String path) {
+        int lastSlash = path.lastIndexOf('/');
+        return lastSlash > 0 ? path.substring(0, lastSlash) : "";
+    }
+
+    private static byte[] xor(byte[] a, byte[] b) {
+        byte[] result = new byte[a.length];
+        for (int i = 0; i < a.length; i++) result[i] = (byte) (a[i] ^ b[i]);
+        return result;
+    }
+}
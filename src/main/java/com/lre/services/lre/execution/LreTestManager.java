@@ -1,5 +1,6 @@
 package com.lre.services.lre.execution;
 
+import com.lre.client.api.lre.LreMetadataCache;
 import com.lre.client.api.lre.LreRestApis;
 import com.lre.common.constants.ConfigConstants;
 import com.lre.common.exceptions.LreException;
@@ -8,7 +9,9 @@ import com.lre.common.utils.JsonUtils;
 import com.lre.common.utils.XmlUtils;
 import com.lre.model.script.LreScript;
 import com.lre.model.script.LreScriptUploadReq;
+import com.lre.model.script.ScriptPackage;
 import com.lre.model.test.Test;
+import com.lre.model.test.TestIndex;
 import com.lre.model.test.testcontent.TestContent;
 import com.lre.model.testplan.LreTestPlan;
 import com.lre.model.testplan.LreTestPlanCreationRequest;
@@ -16,30 +19,36 @@ import com.lre.validation.testcontent.LreTestContentValidator;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.FileWriter;
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
+import static com.lre.common.constants.ConfigConstants.TEST_FINGERPRINTS_DIR;
 import static com.lre.common.utils.CommonUtils.*;
 
 @Slf4j
 public class LreTestManager {
     private final LreTestRunModel model;
     private final LreRestApis restApis;
+    private final TestFingerprintStore fingerprintStore;
 
     private static final String TEST_NOT_FOUND_BY_ID = "Test with ID '%d' not found";
     private static final String TEST_NOT_FOUND_BY_NAME = "Test name '%s' not found";
 
-    private List<Test> testsCache;
+    // Loaded lazily: lookups by ID or script uploads never need them
+    private TestIndex testIndex;
     private List<LreTestPlan> testPlansCache;
 
     public LreTestManager(LreTestRunModel model, LreRestApis restApis) {
         this.model = model;
         this.restApis = restApis;
-        this.testsCache = getAllTestsCached();
-        this.testPlansCache = getAllTestPlansCached();
+        this.fingerprintStore = new TestFingerprintStore(LreMetadataCache.resolveCacheDir(model).resolve(TEST_FINGERPRINTS_DIR));
     }
 
 
@@ -51,10 +60,21 @@ public class LreTestManager {
         else createNewTest();
     }
 
-    public void uploadScriptsFromGitToLre(Path compressedScript) {
-        String scriptPathInLre = validateTestPlan();
-        uploadScriptsToLre(scriptPathInLre, compressedScript);
+    /**
+     * Creates any missing test plan folders of the given path and returns the resolved path.
+     */
+    public String ensureTestPlan(String testFolderPath) {
+        return validateTestPlan(testFolderPath);
+    }
 
+    /**
+     * Uploads a packaged script, in memory or spilled to disk, into an existing test plan folder.
+     */
+    public LreScript uploadScript(String scriptPathInLre, ScriptPackage scriptPackage) {
+        LreScriptUploadReq scriptUploadReq = new LreScriptUploadReq(scriptPathInLre);
+        LreScript script = restApis.uploadScript(scriptPackage, JsonUtils.toJson(scriptUploadReq));
+        log.info("Script {}, Folder path {} uploaded successfully", script.getName(), replaceBackSlash(script.getTestFolderPath()));
+        return script;
     }
 
     public Test findTestById(int testId) {
@@ -70,15 +90,12 @@ public class LreTestManager {
 
     private void findTestByName(String testName) {
         log.info("Looking up test by name: {}", testName);
-        List<Test> tests = getAllTestsCached();
-        Test test = tests.stream()
-                .filter(t -> t.getName().equalsIgnoreCase(testName))
-                .findFirst()
+        TestIndex.Entry test = getTestIndex().findByName(testName)
                 .orElseThrow(() -> new LreException(String.format(TEST_NOT_FOUND_BY_NAME, testName)));
 
-        model.setTestId(test.getId());
-        model.setTestName(test.getName());
-        model.setTestFolderPath(normalizePathWithSubject(test.getTestFolderPath()));
+        model.setTestId(test.id());
+        model.setTestName(test.name());
+        model.setTestFolderPath(normalizePathWithSubject(test.testFolderPath()));
     }
 
     private void createNewTest() {
@@ -87,9 +104,11 @@ public class LreTestManager {
     }
 
     private String validateTestPlan() {
-        List<LreTestPlan> currentTestPlans = getAllTestPlansCached();
+        return validateTestPlan(model.getTestFolderPath());
+    }
 
-        String normalizedInput = model.getTestFolderPath();
+    private String validateTestPlan(String normalizedInput) {
+        List<LreTestPlan> currentTestPlans = getAllTestPlansCached();
 
         if (!normalizedInput.toLowerCase().startsWith("subject\\")) {
             throw new IllegalStateException("Expected path to start with 'Subject\\', but got: " + normalizedInput);
@@ -127,19 +146,13 @@ public class LreTestManager {
     private void createOrUpdateTest() {
         String testName = model.getTestName();
         String testFolderPath = model.getTestFolderPath();
-        Optional<Test> existingTest = findTestByNameAndFolder(testName, testFolderPath);
+        // Fresh listing: the skip decision compares its LastModified against the stored fingerprint
+        testIndex = restApis.refreshTestIndex();
+        Optional<TestIndex.Entry> existingTest = testIndex.findByNameAndFolder(testName, testFolderPath);
         TestContent testContent = new LreTestContentValidator(model, restApis).buildTestContent();
         if (existingTest.isPresent()) updateExistingTest(existingTest.get(), testContent);
         else createNewTest(testName, testFolderPath, testContent);
-        testsCache = null; // invalidate cache only after test creation/update
-    }
-
-    private Optional<Test> findTestByNameAndFolder(String testName, String testFolderPath) {
-        List<Test> tests = getAllTestsCached();
-        return tests.stream()
-                .filter(test -> test.getName().equalsIgnoreCase(testName) &&
-                        test.getTestFolderPath().equalsIgnoreCase(testFolderPath))
-                .findFirst();
+        testIndex = null; // invalidate cache only after test creation/update
     }
 
     private LreTestPlan createNewTestPlanPath(String parentPath, String name) {
@@ -147,35 +160,83 @@ public class LreTestManager {
         return restApis.createTestPlan(JsonUtils.toJson(request));
     }
 
-    private List<Test> getAllTestsCached() {
-        if (testsCache == null) testsCache = restApis.fetchAllTests();
-        return testsCache;
+    private TestIndex getTestIndex() {
+        if (testIndex == null) {
+            testIndex = restApis.fetchTestIndex();
+            log.debug("Indexed {} tests", testIndex.size());
+        }
+        return testIndex;
     }
 
-    private List<LreTestPlan> getAllTestPlansCached() {
-        if (testPlansCache == null) testPlansCache = restApis.fetchAllTestPlans();
+    // Copy-on-write: script uploads ensure different test plan folders concurrently
+    private synchronized List<LreTestPlan> getAllTestPlansCached() {
+        if (testPlansCache == null) testPlansCache = new CopyOnWriteArrayList<>(restApis.fetchAllTestPlans());
         return testPlansCache;
     }
 
-    private void updateExistingTest(Test existingTest, TestContent testContent) {
-        int testId = existingTest.getId();
-        restApis.updateTest(testId, XmlUtils.toXml(testContent));
+    private void updateExistingTest(TestIndex.Entry existingTest, TestContent testContent) {
+        int testId = existingTest.id();
         model.setTestId(testId);
+
+        String contentHash = TestFingerprintStore.hash(testContent);
+        if (isUnchanged(existingTest, contentHash)) {
+            log.info("Test '{}' (ID: {}) is unchanged (content hash {}). Skipping update.",
+                    existingTest.name(), testId, StringUtils.left(contentHash, 12));
+            return;
+        }
+
+        log.info("Updating test '{}' (ID: {}) with new content (hash {})",
+                existingTest.name(), testId, StringUtils.left(contentHash, 12));
+        String testContentXml = XmlUtils.toXml(testContent);
+        saveTestXml(testContentXml);
+        Test updatedTest = restApis.updateTest(testId, testContentXml);
+        fingerprintStore.write(testId, new TestFingerprintStore.Fingerprint(contentHash,
+                updatedTest != null ? updatedTest.getLastModified() : null));
+    }
+
+    /**
+     * The stored fingerprint decides without fetching the test: the test is unchanged when it was
+     * last pushed with the same content and its LastModified in the fresh test listing still matches,
+     * and changed when it was last pushed with different content. Only without a usable
+     * fingerprint is the test fetched and its current content hashed.
+     */
+    private boolean isUnchanged(TestIndex.Entry existingTest, String contentHash) {
+        int testId = existingTest.id();
+        Optional<TestFingerprintStore.Fingerprint> stored = fingerprintStore.read(testId);
+        if (stored.isPresent() && stored.get().lastModified() != null
+                && Objects.equals(stored.get().lastModified(), existingTest.lastModified())) {
+            boolean unchanged = contentHash.equals(stored.get().contentHash());
+            log.debug("Test {} matches its stored fingerprint (last modified {}), content {}", testId,
+                    existingTest.lastModified(), unchanged ? "unchanged" : "changed");
+            return unchanged;
+        }
+
+        Test currentTest = restApis.fetchTest(testId);
+        if (currentTest == null || currentTest.getContent() == null) return false;
+        if (contentHash.equals(TestFingerprintStore.hash(currentTest.getContent()))) {
+            fingerprintStore.write(testId, new TestFingerprintStore.Fingerprint(contentHash, currentTest.getLastModified()));
+            return true;
+        }
+        return false;
     }
 
     private void createNewTest(String testName, String testFolderPath, TestContent testContent) {
         log.info("Creating new test: '{}' in folder: '{}'", testName, testFolderPath);
+        saveTestXml(XmlUtils.toXml(testContent));
         Test test = new Test(testName, testFolderPath, testContent);
         test.normalizeAfterDeserialization();
         saveHtmlReport(XmlUtils.toXml(test), Path.of(ConfigConstants.DEFAULT_OUTPUT_DIR, "TestContent.xml"));
         Test createdTest = restApis.createTest(XmlUtils.toXml(test));
         model.setTestId(createdTest.getId());
+        fingerprintStore.write(createdTest.getId(),
+                new TestFingerprintStore.Fingerprint(TestFingerprintStore.hash(testContent), createdTest.getLastModified()));
     }
 
-    private void uploadScriptsToLre(String scriptPathInLre, Path compressedScript) {
-        LreScriptUploadReq scriptUploadReq = new LreScriptUploadReq(scriptPathInLre);
-        LreScript script = restApis.uploadScript(compressedScript, JsonUtils.toJson(scriptUploadReq));
-        log.info("Script {}, Folder path {} uploaded successfully", script.getName(), replaceBackSlash(script.getTestFolderPath()));
-
+    private void saveTestXml(String testContentXml) {
+        try (FileWriter writer = new FileWriter("Test.xml")) {
+            writer.write(testContentXml);
+        } catch (IOException e) {
+            log.error("Failed to write Test.xml: {}", e.getMessage());
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.lre.services.lre.execution;
+
+import com.lre.common.utils.CommonUtils;
+import com.lre.common.utils.JsonUtils;
+import com.lre.common.utils.XmlUtils;
+import com.lre.model.test.testcontent.TestContent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+/**
+ * Remembers which compiled content was last pushed to each LRE test.
+ * <p>
+ * A fingerprint holds the canonical hash of the pushed {@link TestContent} and the test's
+ * {@code LastModified} stamp right after the push. While the stamp in the test listing still
+ * matches, the fingerprint tells whether the compiled content differs from the test in LRE
+ * without fetching the test.
+ */
+@Slf4j
+public class TestFingerprintStore {
+
+    public record Fingerprint(String contentHash, String lastModified) {
+    }
+
+    private final Path dir;
+
+    public TestFingerprintStore(Path dir) {
+        this.dir = dir;
+    }
+
+    public Optional<Fingerprint> read(int testId) {
+        Path file = fileOf(testId);
+        if (!Files.exists(file)) return Optional.empty();
+        try {
+            return Optional.ofNullable(JsonUtils.fromJson(Files.readString(file, StandardCharsets.UTF_8), Fingerprint.class));
+        } catch (Exception e) {
+            log.debug("Ignoring unreadable test fingerprint {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void write(int testId, Fingerprint fingerprint) {
+        Path file = fileOf(testId);
+        try {
+            Files.createDirectories(dir);
+            Path tempFile = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+            try {
+                Files.writeString(tempFile, JsonUtils.toJson(fingerprint), StandardCharsets.UTF_8);
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to store fingerprint of test {}: {}", testId, e.getMessage());
+        }
+    }
+
+    /**
+     * Canonical hash of compiled test content: SHA-256 of its LRE XML form.
+     */
+    public static String hash(TestContent content) {
+        return CommonUtils.sha256Hex(XmlUtils.toXml(content));
+    }
+
+    private Path fileOf(int testId) {
+        return dir.resolve("test-" + testId + ".json");
+    }
+}
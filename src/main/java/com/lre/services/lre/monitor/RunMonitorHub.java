@@ -0,0 +1,272 @@
+package com.lre.services.lre.monitor;
+
+import com.lre.client.api.lre.LreRestApis;
+import com.lre.client.runmodel.LreTestRunModel;
+import com.lre.common.exceptions.LreException;
+import com.lre.common.utils.JsonUtils;
+import com.lre.model.enums.PostRunAction;
+import com.lre.model.enums.RunState;
+import com.lre.model.run.LreRunStatusExtended;
+import com.lre.model.run.LreRunStatusReqWeb;
+import com.lre.services.lre.auth.LreAuthenticationManager;
+import com.lre.services.lre.poller.AdaptivePollScheduler;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.lre.common.constants.ConfigConstants.MAX_RETRIES;
+import static com.lre.common.constants.ConfigConstants.RETRY_DELAY_SECONDS;
+
+/**
+ * Monitors many LRE runs at once from a single scheduler thread over one authenticated session.
+ * <p>
+ * Every tracked run keeps its own {@link AdaptivePollScheduler}, but all runs that are due for a
+ * poll at (roughly) the same time are fetched together through one {@code fetchRunResultsExtended}
+ * request. Each run completes its future once it reaches a terminal state for the configured
+ * {@link PostRunAction}, or with its last known status once its timeslot is exceeded or it is
+ * aborted for breaching the error or failed transaction threshold.
+ * <p>
+ * The caller owns the {@link LreRestApis} instance and must be logged in before tracking runs.
+ */
+@Slf4j
+public class RunMonitorHub implements AutoCloseable {
+
+    // Runs due within this window of each other are fetched in the same request
+    private static final long MERGE_WINDOW_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+    private final LreRestApis apiClient;
+    private final LreTestRunModel model;
+    private final LreAuthenticationManager authManager;
+    private final PostRunAction postRunAction;
+    private final ScheduledExecutorService executor;
+    private final Map<Integer, TrackedRun> runs = new ConcurrentHashMap<>();
+    private final AtomicInteger requestCount = new AtomicInteger();
+
+    // Only touched from the scheduler thread
+    private ScheduledFuture<?> nextTick;
+    private int consecutiveFailures;
+
+    public RunMonitorHub(LreRestApis apiClient, LreTestRunModel model) {
+        this.apiClient = apiClient;
+        this.model = model;
+        this.authManager = new LreAuthenticationManager(apiClient, model);
+        this.postRunAction = model.getLrePostRunAction();
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "lre-run-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts monitoring a run.
+     *
+     * @param runId                     LRE run ID
+     * @param timeslotDurationInMinutes timeslot reserved for the run
+     * @return future completed with the final extended status of the run
+     */
+    public CompletableFuture<LreRunStatusExtended> track(int runId, int timeslotDurationInMinutes) {
+        TrackedRun run = runs.computeIfAbsent(runId, id -> new TrackedRun(id, timeslotDurationInMinutes));
+        executor.execute(() -> scheduleTick(0));
+        log.info("Monitoring run [{}] ({} runs tracked)", runId, runs.size());
+        return run.completion;
+    }
+
+    /**
+     * Completes once every run tracked so far has completed (successfully or not).
+     */
+    public CompletableFuture<Void> allDone() {
+        return CompletableFuture.allOf(runs.values().stream()
+                .map(run -> run.completion.handle((status, error) -> null))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Number of status requests sent to LRE for all runs together.
+     */
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * Number of status observations made for a single run.
+     */
+    public int getPollCount(int runId) {
+        TrackedRun run = runs.get(runId);
+        return run != null ? run.pollScheduler.getPollCount() : 0;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        runs.values().forEach(run -> run.completion.cancel(false));
+        log.info("Run monitor stopped after {} status requests for {} runs", requestCount.get(), runs.size());
+    }
+
+    private void scheduleTick(long delayMillis) {
+        if (executor.isShutdown()) return;
+        if (nextTick != null) nextTick.cancel(false);
+        nextTick = executor.schedule(this::tick, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void tick() {
+        long now = System.currentTimeMillis();
+        List<TrackedRun> due = runs.values().stream()
+                .filter(run -> !run.completion.isDone() && run.nextPollAt <= now + MERGE_WINDOW_MILLIS)
+                .toList();
+
+        if (!due.isEmpty()) {
+            try {
+                pollRuns(due, now);
+                consecutiveFailures = 0;
+            } catch (Exception e) {
+                handleFailure(e);
+                scheduleTick(TimeUnit.SECONDS.toMillis(RETRY_DELAY_SECONDS));
+                return;
+            }
+        }
+
+        runs.values().stream()
+                .filter(run -> !run.completion.isDone())
+                .mapToLong(run -> run.nextPollAt)
+                .min()
+                .ifPresent(nextPollAt -> scheduleTick(Math.max(0, nextPollAt - System.currentTimeMillis())));
+    }
+
+    private void pollRuns(List<TrackedRun> due, long now) {
+        List<Integer> runIds = due.stream().map(run -> run.runId).toList();
+        LreRunStatusReqWeb request = LreRunStatusReqWeb.createRunStatusPayloadForRunIds(runIds);
+
+        long start = System.nanoTime();
+        List<LreRunStatusExtended> results = apiClient.fetchRunResultsExtended(JsonUtils.toJson(request));
+        long latencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        requestCount.incrementAndGet();
+        log.debug("Fetched status of {} runs in one request ({} ms)", runIds.size(), latencyMillis);
+
+        Map<Integer, LreRunStatusExtended> byId = results == null ? Map.of() : results.stream()
+                .collect(Collectors.toMap(LreRunStatusExtended::getId, Function.identity(), (a, b) -> a));
+
+        for (TrackedRun run : due) {
+            run.pollScheduler.recordPoll(latencyMillis);
+            LreRunStatusExtended status = byId.get(run.runId);
+            if (status == null) handleMissingRun(run, now);
+            else handleStatus(run, status, now);
+        }
+    }
+
+    private void handleStatus(TrackedRun run, LreRunStatusExtended status, long now) {
+        run.misses = 0;
+        RunState state = parseState(status.getState());
+        long elapsedMillis = now - run.startTime;
+
+        if (state != run.lastState) {
+            log.info("Run [{}] state: {}", run.runId, state.getValue());
+        }
+
+        if (postRunAction.isTerminal(state)) {
+            log.info("Run [{}] reached terminal state [{}] after {} polls", run.runId, state, run.pollScheduler.getPollCount());
+            complete(run, status);
+            return;
+        }
+
+        if (state == RunState.RUNNING && abortOnThresholdBreach(run, status)) {
+            complete(run, status);
+            return;
+        }
+
+        if (elapsedMillis > run.timeslotDurationMillis) {
+            log.info("Run [{}] reached timeslot limit. Stopping monitoring.", run.runId);
+            complete(run, status);
+            return;
+        }
+
+        run.lastState = state;
+        run.nextPollAt = now + run.pollScheduler.nextIntervalMillis(state, elapsedMillis);
+    }
+
+    // Same thresholds as the single-run poller; the run is aborted in LRE and its monitoring ends
+    private boolean abortOnThresholdBreach(TrackedRun run, LreRunStatusExtended status) {
+        String reason = RunStatusMonitor.thresholdBreachReason(model, status.getErrors(), status.getTransFailed());
+        if (reason.isEmpty()) return false;
+
+        log.error("Run [{}] Aborting test execution due to threshold breach: {}", run.runId, reason);
+        try {
+            apiClient.abortRun(run.runId);
+            model.setTestFailed(true);
+            model.setFailureReason("Run " + run.runId + " aborted due to threshold breach: " + reason);
+        } catch (Exception e) {
+            log.error("Failed to abort run [{}] after threshold breach: {}", run.runId, e.getMessage());
+        }
+        return true;
+    }
+
+    private void handleMissingRun(TrackedRun run, long now) {
+        run.misses++;
+        log.warn("Run [{}] missing from status response (Attempt {}/{})", run.runId, run.misses, MAX_RETRIES);
+        if (run.misses >= MAX_RETRIES) {
+            run.completion.completeExceptionally(new LreException("No run status found for Run ID " + run.runId));
+            return;
+        }
+        run.nextPollAt = now + TimeUnit.SECONDS.toMillis(RETRY_DELAY_SECONDS);
+    }
+
+    private void complete(TrackedRun run, LreRunStatusExtended status) {
+        RunStatusMonitor.applyTransPerSec(status);
+        run.completion.complete(status);
+    }
+
+    private void handleFailure(Exception e) {
+        consecutiveFailures++;
+        String msg = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+        List<Integer> pendingRunIds = runs.values().stream()
+                .filter(run -> !run.completion.isDone())
+                .map(run -> run.runId)
+                .toList();
+        log.warn("Failed to fetch status for runs {}: {} (Attempt {}/{})",
+                pendingRunIds, msg, consecutiveFailures, MAX_RETRIES);
+
+        if (consecutiveFailures >= MAX_RETRIES) {
+            log.info("Max retries reached. Reauthenticating as {} on {}/{}.",
+                    model.getUserName(), model.getDomain(), model.getProject());
+            try {
+                authManager.login();
+            } catch (Exception loginError) {
+                log.error("Reauthentication failed: {}", loginError.getMessage());
+            }
+            consecutiveFailures = 0;
+        }
+    }
+
+    private static RunState parseState(String value) {
+        try {
+            return RunState.fromValue(value);
+        } catch (IllegalArgumentException e) {
+            return RunState.UNDEFINED;
+        }
+    }
+
+    private final class TrackedRun {
+        private final int runId;
+        private final long startTime;
+        private final long timeslotDurationMillis;
+        private final AdaptivePollScheduler pollScheduler;
+        private final CompletableFuture<LreRunStatusExtended> completion = new CompletableFuture<>();
+
+        private RunState lastState = RunState.UNDEFINED;
+        private long nextPollAt;
+        private int misses;
+
+        private TrackedRun(int runId, int timeslotDurationInMinutes) {
+            this.runId = runId;
+            this.startTime = System.currentTimeMillis();
+            this.timeslotDurationMillis = TimeUnit.MINUTES.toMillis(timeslotDurationInMinutes);
+            this.pollScheduler = new AdaptivePollScheduler(model.getPollMinIntervalSeconds(),
+                    model.getPollMaxIntervalSeconds(), timeslotDurationMillis);
+            this.nextPollAt = startTime;
+        }
+    }
+}
@@ -56,16 +56,7 @@ public class RunStatusMonitor {
         long failedTxnCount = currentStatus.getTotalFailedTransactions();
         long errorThreshold = model.getMaxErrors();
         long failedTxnThreshold = model.getMaxFailedTxns();
-
-        StringBuilder reason = new StringBuilder();
-
-        if (errorCount >= errorThreshold) {
-            reason.append(String.format("Error threshold breached (%d/%d)", errorCount, errorThreshold));
-        }
-        if (failedTxnCount >= failedTxnThreshold) {
-            if (!reason.isEmpty()) reason.append(" | ");
-            reason.append(String.format("Failed Txn threshold breached (%d/%d)", failedTxnCount, failedTxnThreshold));
-        }
+        String reason = thresholdBreachReason(model, errorCount, failedTxnCount);
 
         log.error("Run [{}] Aborting test execution due to threshold breach: {}", runId, reason);
         try {
@@ -79,15 +70,38 @@ public class RunStatusMonitor {
         }
     }
 
+    /**
+     * Describes which of the max_error_count and max_failed_txn_count thresholds the counts breach,
+     * empty when neither is.
+     */
+    static String thresholdBreachReason(LreTestRunModel model, long errorCount, long failedTxnCount) {
+        long errorThreshold = model.getMaxErrors();
+        long failedTxnThreshold = model.getMaxFailedTxns();
+
+        StringBuilder reason = new StringBuilder();
+
+        if (errorCount >= errorThreshold) {
+            reason.append(String.format("Error threshold breached (%d/%d)", errorCount, errorThreshold));
+        }
+        if (failedTxnCount >= failedTxnThreshold) {
+            if (!reason.isEmpty()) reason.append(" | ");
+            reason.append(String.format("Failed Txn threshold breached (%d/%d)", failedTxnCount, failedTxnThreshold));
+        }
+        return reason.toString();
+    }
+
     public LreRunStatusExtended fetchRunStatusExtended() {
         LreRunStatusReqWeb req = LreRunStatusReqWeb.createRunStatusPayloadForRunId(model.getRunId());
         List<LreRunStatusExtended> results = apiClient.fetchRunResultsExtended(JsonUtils.toJson(req));
         if (results.isEmpty()) throw new LreException("No run status found for Run ID " + model.getRunId());
         LreRunStatusExtended res = results.get(0);
+        applyTransPerSec(res);
+        return res;
+    }
+
+    static void applyTransPerSec(LreRunStatusExtended res) {
         long totalTxns = res.getTransPassed();
         String duration = calculateTestDuration(res.getStart(), res.getEnd());
-        int tps = calculateTps(totalTxns, duration);
-        res.setTransPerSec(tps);
-        return res;
+        res.setTransPerSec(calculateTps(totalTxns, duration));
     }
 }
\ No newline at end of file
@@ -0,0 +1,118 @@
+package com.lre.services.lre.poller;
+
+import com.lre.model.enums.RunState;
+import lombok.Getter;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static com.lre.common.constants.ConfigConstants.DEFAULT_POLL_MAX_INTERVAL_SECONDS;
+import static com.lre.common.constants.ConfigConstants.DEFAULT_POLL_MIN_INTERVAL_SECONDS;
+
+/**
+ * Decides how long to wait between two run status polls.
+ * <p>
+ * The interval depends on the current {@link RunState} (sparse while RUNNING, dense around
+ * INITIALIZING and result collation), on the time left in the timeslot and on the observed
+ * latency of the status API. The result is always clamped to the configured floor/ceiling.
+ */
+public class AdaptivePollScheduler {
+
+    // Poll at least this many latencies apart so a slow server is not hammered
+    private static final int LATENCY_MULTIPLIER = 5;
+    // Weight of the newest sample in the latency moving average
+    private static final double LATENCY_SMOOTHING = 0.3;
+    // Switch to transition polling once the timeslot is about to end
+    private static final long END_OF_TIMESLOT_WINDOW = TimeUnit.MINUTES.toMillis(5);
+    private static final long TRANSITION_INTERVAL = TimeUnit.SECONDS.toMillis(10);
+
+    private static final Map<RunState, Long> STATE_INTERVALS = new EnumMap<>(RunState.class);
+
+    static {
+        STATE_INTERVALS.put(RunState.INITIALIZING, TRANSITION_INTERVAL);
+        STATE_INTERVALS.put(RunState.RUNNING, TimeUnit.SECONDS.toMillis(30));
+        STATE_INTERVALS.put(RunState.STOPPING, TRANSITION_INTERVAL);
+        STATE_INTERVALS.put(RunState.BEFORE_COLLATING_RESULTS, TRANSITION_INTERVAL);
+        STATE_INTERVALS.put(RunState.COLLATING_RESULTS, TRANSITION_INTERVAL);
+        STATE_INTERVALS.put(RunState.BEFORE_CREATING_ANALYSIS_DATA, TimeUnit.SECONDS.toMillis(15));
+        STATE_INTERVALS.put(RunState.PENDING_CREATING_ANALYSIS_DATA, TimeUnit.SECONDS.toMillis(15));
+        STATE_INTERVALS.put(RunState.CREATING_ANALYSIS_DATA, TimeUnit.SECONDS.toMillis(15));
+    }
+
+    private final long floorMillis;
+    private final long ceilingMillis;
+    private final long timeslotDurationMillis;
+
+    private RunState lastState = RunState.UNDEFINED;
+    private double avgLatencyMillis = -1;
+
+    @Getter
+    private int pollCount;
+
+    public AdaptivePollScheduler(int minIntervalSeconds, int maxIntervalSeconds, long timeslotDurationMillis) {
+        int min = minIntervalSeconds > 0 ? minIntervalSeconds : DEFAULT_POLL_MIN_INTERVAL_SECONDS;
+        int max = maxIntervalSeconds > 0 ? maxIntervalSeconds : DEFAULT_POLL_MAX_INTERVAL_SECONDS;
+        this.floorMillis = TimeUnit.SECONDS.toMillis(min);
+        this.ceilingMillis = TimeUnit.SECONDS.toMillis(Math.max(min, max));
+        this.timeslotDurationMillis = timeslotDurationMillis;
+    }
+
+    /**
+     * Executes one status fetch, counting it and recording its latency.
+     */
+    public <T> T poll(Supplier<T> fetch) {
+        long start = System.nanoTime();
+        try {
+            return fetch.get();
+        } finally {
+            recordPoll(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Records a poll that was executed elsewhere, e.g. as part of a merged multi-run request.
+     */
+    public void recordPoll(long latencyMillis) {
+        pollCount++;
+        avgLatencyMillis = avgLatencyMillis < 0
+                ? latencyMillis
+                : LATENCY_SMOOTHING * latencyMillis + (1 - LATENCY_SMOOTHING) * avgLatencyMillis;
+    }
+
+    /**
+     * Computes the delay before the next poll.
+     *
+     * @param state         state returned by the latest poll
+     * @param elapsedMillis time since monitoring started
+     * @return delay in milliseconds, within [floor, ceiling]
+     */
+    public long nextIntervalMillis(RunState state, long elapsedMillis) {
+        boolean stateChanged = state != lastState;
+        lastState = state;
+
+        // A state change means the next one may follow quickly
+        if (stateChanged) return floorMillis;
+
+        long remainingMillis = timeslotDurationMillis - elapsedMillis;
+        long interval = STATE_INTERVALS.getOrDefault(state, floorMillis);
+
+        if (state == RunState.RUNNING && remainingMillis <= END_OF_TIMESLOT_WINDOW) {
+            interval = TRANSITION_INTERVAL;
+        }
+
+        if (avgLatencyMillis > 0) {
+            interval = Math.max(interval, (long) (avgLatencyMillis * LATENCY_MULTIPLIER));
+        }
+
+        // Never sleep past the end of the timeslot
+        if (remainingMillis > 0) interval = Math.min(interval, remainingMillis);
+
+        return Math.max(floorMillis, Math.min(interval, ceilingMillis));
+    }
+
+    public long getAverageLatencyMillis() {
+        return avgLatencyMillis < 0 ? 0 : Math.round(avgLatencyMillis);
+    }
+}
@@ -26,7 +26,7 @@ public class LreRunStatusPoller {
     private final RunStatusFormatter statusFormatter;
     private final LreAuthenticationManager authManager;
     private final PostRunAction postRunAction;
-    private final long pollIntervalSeconds;
+    private final AdaptivePollScheduler pollScheduler;
     private final long timeslotDurationMillis;
     private final LreTestRunModel model;
 
@@ -45,7 +45,8 @@ public class LreRunStatusPoller {
         this.statusFormatter = new RunStatusFormatter(model.getRunId(), timeslotDurationMillis);
         this.authManager = new LreAuthenticationManager(apiClient, model);
         this.postRunAction = model.getLrePostRunAction();
-        this.pollIntervalSeconds = DEFAULT_POLL_INTERVAL_SECONDS;
+        this.pollScheduler = new AdaptivePollScheduler(model.getPollMinIntervalSeconds(),
+                model.getPollMaxIntervalSeconds(), timeslotDurationMillis);
     }
 
     public LreRunStatus pollUntilDone() {
@@ -55,28 +56,45 @@ public class LreRunStatusPoller {
 
         while (!Thread.currentThread().isInterrupted()) {
             try {
-                LreRunStatus currentStatus = statusMonitor.fetchCurrentStatus();
+                LreRunStatus currentStatus = pollScheduler.poll(statusMonitor::fetchCurrentStatus);
                 RunState currentState = RunState.fromValue(currentStatus.getRunState());
                 lastKnownStatus = currentStatus;
                 logStatus(currentState, startTime);
                 // Early return for terminal state
-                if (isTerminalState(currentState)) return currentStatus;
+                if (isTerminalState(currentState)) {
+                    logPollStatistics();
+                    return currentStatus;
+                }
 
                 // Handle non-terminal exit conditions
                 if (handleNonTerminalExitConditions(currentStatus, currentState, startTime)) break;
 
                 consecutiveFailures = 0;
-                sleep(pollIntervalSeconds);
+                long elapsedMillis = System.currentTimeMillis() - startTime;
+                sleepMillis(pollScheduler.nextIntervalMillis(currentState, elapsedMillis));
 
             } catch (Exception e) {
                 consecutiveFailures = handleFailure(consecutiveFailures, e);
             }
         }
 
+        logPollStatistics();
         log.debug("Returning last known status for run [{}]: {}", model.getRunId(), lastKnownStatus.getRunState());
         return lastKnownStatus;
     }
 
+    /**
+     * Number of status requests sent for this run so far.
+     */
+    public int getPollCount() {
+        return pollScheduler.getPollCount();
+    }
+
+    private void logPollStatistics() {
+        log.info("Run [{}] monitored with {} status polls (avg API latency {} ms)",
+                model.getRunId(), pollScheduler.getPollCount(), pollScheduler.getAverageLatencyMillis());
+    }
+
     private boolean handleNonTerminalExitConditions(LreRunStatus status, RunState state, long startTime) {
         boolean shouldAbort = statusMonitor.shouldAbortDueToErrors(status, state);
         boolean timeslotExceeded = isTimeslotExceeded(startTime);
@@ -151,13 +169,13 @@ public class LreRunStatusPoller {
             consecutiveFailures = 0;
         }
 
-        sleep(RETRY_DELAY_SECONDS);
+        sleepMillis(TimeUnit.SECONDS.toMillis(RETRY_DELAY_SECONDS));
         return consecutiveFailures;
     }
 
-    private void sleep(long seconds) {
+    private void sleepMillis(long millis) {
         try {
-            TimeUnit.SECONDS.sleep(seconds);
+            TimeUnit.MILLISECONDS.sleep(millis);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             log.warn("Polling interrupted for run [{}]", model.getRunId());
@@ -0,0 +1,119 @@
+package com.lre.services.lre.report.export;
+
+import com.lre.common.exceptions.LreException;
+import com.lre.db.SQLiteConnectionManager;
+import com.lre.db.SQLiteReadSession;
+import com.lre.model.enums.ExportFormat;
+import com.lre.services.lre.report.renderer.csv.CsvRowWriter;
+import com.lre.services.lre.report.renderer.excel.ExcelRowWriter;
+import com.lre.services.lre.report.renderer.html.HtmlRowWriter;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exports the rows of a report query to CSV, Excel or HTML.
+ * <p>
+ * Rows are read through a forward-only cursor of a read-only session and handed to the
+ * {@link RowWriter} one at a time, so memory stays flat however many rows the query returns.
+ */
+@Slf4j
+@UtilityClass
+public class ReportRowExporter {
+
+    /**
+     * Streams the query's rows into the target file.
+     *
+     * @param title sheet name or page title of the export
+     * @return the number of rows exported
+     */
+    public static long export(Path dbPath, String sql, List<Object> params, int fetchSize,
+                              ExportFormat format, Path target, String title) {
+        long start = System.nanoTime();
+        Path partial = null;
+        try {
+            Path directory = Files.createDirectories(target.toAbsolutePath().getParent());
+            // Written beside the target and moved into place only when complete, so a failed
+            // export never leaves a truncated file among the reports
+            partial = Files.createTempFile(directory, target.getFileName().toString(), ".part");
+            long rows;
+            try (SQLiteReadSession session = new SQLiteReadSession(dbPath);
+                 RowWriter writer = openWriter(format, partial, title)) {
+                rows = session.forEachRow(sql, params, fetchSize, new WriterVisitor(writer));
+            }
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Exported {} rows to {} in {} ms", rows, target,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return rows;
+        } catch (IOException | UncheckedIOException e) {
+            deleteQuietly(partial);
+            throw new LreException("Failed to export query results to " + target, e);
+        } catch (RuntimeException e) {
+            deleteQuietly(partial);
+            throw e;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) return;
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Failed to delete partial export {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static RowWriter openWriter(ExportFormat format, Path target, String title) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvRowWriter(Files.newBufferedWriter(target, StandardCharsets.UTF_8));
+            case XLSX -> new ExcelRowWriter(target, title);
+            case HTML -> new HtmlRowWriter(Files.newBufferedWriter(target, StandardCharsets.UTF_8), title);
+        };
+    }
+
+    /**
+     * Copies every row into a reused value array and passes it on to the writer.
+     */
+    private static final class WriterVisitor implements SQLiteConnectionManager.RowVisitor {
+        private final RowWriter writer;
+        private Object[] values;
+
+        private WriterVisitor(RowWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void start(ResultSetMetaData metaData) throws SQLException {
+            List<String> columns = new ArrayList<>();
+            for (int i = 1; i <= metaData.getColumnCount(); i++) columns.add(metaData.getColumnLabel(i));
+            values = new Object[columns.size()];
+            try {
+                writer.writeHeader(columns);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void visit(ResultSet row) throws SQLException {
+            for (int i = 0; i < values.length; i++) values[i] = row.getObject(i + 1);
+            try {
+                writer.writeRow(values);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.lre.services.lre.report.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes a table one row at a time, so exports never hold more than the current row.
+ * {@link #close()} finishes the document.
+ */
+public interface RowWriter extends Closeable {
+
+    void writeHeader(List<String> columns) throws IOException;
+
+    /**
+     * @param values the row's values; the array may be reused for the next row
+     */
+    void writeRow(Object[] values) throws IOException;
+}
@@ -1,5 +1,8 @@
 package com.lre.services.lre.report.fetcher;
 
+import com.lre.common.exceptions.ReportFetchException;
+import com.lre.db.SQLiteConnectionManager;
+import com.lre.db.SQLiteReadSession;
 import com.lre.model.report.LreErrorStats;
 import com.lre.model.report.LreRunInfo;
 import com.lre.model.report.LreTxnStats;
@@ -7,6 +10,10 @@ import com.lre.model.report.LreTxnStats;
 import java.nio.file.Path;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static com.lre.common.constants.ConfigConstants.ERRORS_DB_FORMAT;
 import static com.lre.common.constants.ConfigConstants.RESULTS_DB_FORMAT;
@@ -27,14 +34,46 @@ public class ReportDataService {
      * @return a {@link ReportData} object containing the paths and fetched statistics.
      */
     public static ReportData fetchReportData(Path baseDbPath, int runId) {
+        return fetchReportData(baseDbPath, runId, false);
+    }
+
+    /**
+     * Same as {@link #fetchReportData(Path, int)}, computing the transaction statistics with the
+     * single-pass {@link TxnStatsEngine} when {@code streamingTxnStats} is set.
+     */
+    public static ReportData fetchReportData(Path baseDbPath, int runId, boolean streamingTxnStats) {
+        return fetchReportData(baseDbPath, runId, streamingTxnStats, false);
+    }
+
+    /**
+     * Same as {@link #fetchReportData(Path, int, boolean)}. The results DB is opened once in a read-only
+     * session, copied into memory first when {@code resultsInMemory} is set, and the run info, transaction
+     * and error queries run concurrently.
+     */
+    public static ReportData fetchReportData(Path baseDbPath, int runId, boolean streamingTxnStats, boolean resultsInMemory) {
         Path resultsDbPath = baseDbPath.resolve(String.format(RESULTS_DB_FORMAT, runId));
         Path errorsDbPath = baseDbPath.resolve(ERRORS_DB_FORMAT);
 
-        LreRunInfo runInfo = ReportStatsFetcher.fetchRunInfo(resultsDbPath);
-        List<LreTxnStats> txnStats = ReportStatsFetcher.fetchTransactions(resultsDbPath);
-        List<LreErrorStats> errorStats = ReportStatsFetcher.fetchErrors(errorsDbPath);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try (SQLiteReadSession results = new SQLiteReadSession(resultsDbPath, resultsInMemory)) {
+            CompletableFuture<LreRunInfo> runInfo = CompletableFuture.supplyAsync(
+                    () -> ReportStatsFetcher.fetchRunInfo(results), executor);
+            CompletableFuture<List<LreTxnStats>> txnStats = CompletableFuture.supplyAsync(
+                    () -> ReportStatsFetcher.fetchTransactions(results, streamingTxnStats), executor);
+            CompletableFuture<List<LreErrorStats>> errorStats = CompletableFuture.supplyAsync(
+                    () -> ReportStatsFetcher.fetchErrors(errorsDbPath), executor);
 
-        return new ReportData(resultsDbPath, errorsDbPath, runInfo, txnStats, errorStats);
+            // Wait for all queries before the session closes, even when one of them fails
+            CompletableFuture.allOf(runInfo, txnStats, errorStats).join();
+            return new ReportData(resultsDbPath, errorsDbPath, runInfo.join(), txnStats.join(), errorStats.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ReportFetchException fetchException) throw fetchException;
+            throw new ReportFetchException("Failed to fetch report data for Run " + runId, e.getCause());
+        } catch (SQLiteConnectionManager.SQLiteQueryException e) {
+            throw new ReportFetchException("Failed to open results DB " + resultsDbPath, e);
+        } finally {
+            executor.shutdown();
+        }
     }
 
     /**
@@ -1,7 +1,7 @@
 package com.lre.services.lre.report.fetcher;
 
 import com.lre.common.exceptions.ReportFetchException;
-import com.lre.db.SQLiteConnectionManager;
+import com.lre.db.SQLiteReadSession;
 import com.lre.db.SqlQueries;
 import com.lre.model.report.LreErrorStats;
 import com.lre.model.report.LreRunInfo;
@@ -14,6 +14,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @UtilityClass
@@ -23,28 +24,48 @@ public class ReportStatsFetcher {
     public static <T> List<T> fetch(Path dbPath, String sqlQuery, List<Object> params, ResultSetMapper<T> mapper) {
         if (dbPath == null) return List.of();  // Return empty list if dbPath is null
 
-        List<T> result = new ArrayList<>();
+        try (SQLiteReadSession session = new SQLiteReadSession(dbPath)) {
+            return fetch(session, sqlQuery, params, mapper);
+        } catch (ReportFetchException e) {
+            throw e; // already wrapped
+        } catch (RuntimeException e) {
+            log.error("Unexpected runtime error during fetch: {}", sqlQuery, e);
+            throw new ReportFetchException("Unexpected error during fetch for query: " + sqlQuery, e);
+        }
+    }
 
-        try (SQLiteConnectionManager manager = new SQLiteConnectionManager(dbPath)) {
-            if (params == null) params = new ArrayList<>(); // Handle null params gracefully
+    /**
+     * Runs the query on an open session, reusing its connection and cached statement.
+     */
+    public static <T> List<T> fetch(SQLiteReadSession session, String sqlQuery, List<Object> params, ResultSetMapper<T> mapper) {
+        List<T> result = new ArrayList<>();
+        long start = System.nanoTime();
 
-            manager.executeQuery(sqlQuery, params, rs -> {
+        try {
+            session.executeQuery(sqlQuery, params, rs -> {
                 while (rs.next()) {
                     result.add(mapper.map(rs));  // Map each row using the provided mapper
                 }
             });
-        } catch (ReportFetchException e) {
-            throw e; // already wrapped
         } catch (RuntimeException e) {
             log.error("Unexpected runtime error during fetch: {}", sqlQuery, e);
             throw new ReportFetchException("Unexpected error during fetch for query: " + sqlQuery, e);
         }
 
+        log.debug("Fetched {} rows from {} in {} ms", result.size(), session.getDbPath().getFileName(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
         return result;
     }
 
     public static LreRunInfo fetchRunInfo(Path dbPath) {
-        List<LreRunInfo> runInfoList = ReportStatsFetcher.fetch(dbPath, SqlQueries.RUN_INFO_SQL, null, LreRunInfo::from);
+        return firstRunInfo(fetch(dbPath, SqlQueries.RUN_INFO_SQL, null, LreRunInfo::from));
+    }
+
+    public static LreRunInfo fetchRunInfo(SQLiteReadSession session) {
+        return firstRunInfo(fetch(session, SqlQueries.RUN_INFO_SQL, null, LreRunInfo::from));
+    }
+
+    private static LreRunInfo firstRunInfo(List<LreRunInfo> runInfoList) {
         if (!runInfoList.isEmpty()) return runInfoList.get(0);
         throw new ReportFetchException("Run info not found for the given query.");
     }
@@ -53,6 +74,33 @@ public class ReportStatsFetcher {
         return fetch(dbPath, SqlQueries.TXN_SUMMARY_SQL, null, LreTxnStats::from);
     }
 
+    /**
+     * Fetches the transaction summary with the single-pass {@link TxnStatsEngine} when {@code streaming}
+     * is set, falling back to the SQL summary query if the engine fails.
+     */
+    public static List<LreTxnStats> fetchTransactions(Path dbPath, boolean streaming) {
+        if (dbPath == null) return List.of();
+        try (SQLiteReadSession session = new SQLiteReadSession(dbPath)) {
+            return fetchTransactions(session, streaming);
+        }
+    }
+
+    /**
+     * Same as {@link #fetchTransactions(Path, boolean)}; the SQL summary query runs on the session.
+     * The streaming engine reads the session's DB file through connections of its own.
+     */
+    public static List<LreTxnStats> fetchTransactions(SQLiteReadSession session, boolean streaming) {
+        if (streaming) {
+            try {
+                return new TxnStatsEngine(session.getDbPath(), Runtime.getRuntime().availableProcessors()).compute();
+            } catch (RuntimeException e) {
+                log.warn("Streaming transaction summary failed for {}; using the SQL summary query: {}",
+                        session.getDbPath(), e.getMessage());
+            }
+        }
+        return fetch(session, SqlQueries.TXN_SUMMARY_SQL, null, LreTxnStats::from);
+    }
+
     public static List<LreErrorStats> fetchErrors(Path dbPath) {
         return fetch(dbPath, SqlQueries.ERROR_SUMMARY_SQL, null, LreErrorStats::from);
     }
@@ -0,0 +1,179 @@
+package com.lre.services.lre.report.fetcher;
+
+import com.lre.model.report.LreTxnStats;
+import com.lre.model.report.TxnHistogram;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+/**
+ * Count-weighted statistics of one transaction, accumulated row by row with the semantics of
+ * {@code SqlQueries.TXN_SUMMARY_SQL}.
+ * <p>
+ * Percentile samples are kept as parallel primitive arrays of response time and weight. When the
+ * buffer fills up it is sorted and equal response times are coalesced, so memory grows with the
+ * number of distinct response times rather than rows, and percentiles stay exact. The samples
+ * also yield the {@link TxnHistogram} kept with the statistics for further percentiles.
+ */
+final class TxnAccumulator {
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private double transactionCount;
+    private double passCount;
+    private double failCount;
+    private double weightedSum;
+    private double weightedSquareSum;
+    private double minimum = Double.NaN;
+    private double maximum = Double.NaN;
+
+    private double[] times = new double[INITIAL_CAPACITY];
+    private double[] weights = new double[INITIAL_CAPACITY];
+    private int size;
+    private int sortedSize;
+
+    /**
+     * @param status       1 for Pass, 2 for Fail, 0 for any other end status
+     * @param responseTime value minus think time, NaN when the value is NULL
+     * @param count        the row's Acount
+     */
+    void add(int status, double responseTime, double count) {
+        transactionCount += count;
+        if (status == 2) failCount += count;
+        if (status != 1) return;
+
+        passCount += count;
+        if (Double.isNaN(responseTime)) return;
+        weightedSum += responseTime * count;
+        weightedSquareSum += count * responseTime * responseTime;
+        if (Double.isNaN(minimum) || responseTime < minimum) minimum = responseTime;
+        if (Double.isNaN(maximum) || responseTime > maximum) maximum = responseTime;
+        if (responseTime > 0 && count > 0) addSample(responseTime, count);
+    }
+
+    void merge(TxnAccumulator other) {
+        transactionCount += other.transactionCount;
+        passCount += other.passCount;
+        failCount += other.failCount;
+        weightedSum += other.weightedSum;
+        weightedSquareSum += other.weightedSquareSum;
+        if (!Double.isNaN(other.minimum) && (Double.isNaN(minimum) || other.minimum < minimum)) minimum = other.minimum;
+        if (!Double.isNaN(other.maximum) && (Double.isNaN(maximum) || other.maximum > maximum)) maximum = other.maximum;
+        for (int i = 0; i < other.size; i++) addSample(other.times[i], other.weights[i]);
+    }
+
+    LreTxnStats toStats(String scriptName, String transactionName) {
+        compact();
+        double average = passCount > 0 ? weightedSum / passCount : 0;
+        double variance = passCount > 0 ? weightedSquareSum / passCount - average * average : 0;
+        double[] percentiles = percentiles(0.50, 0.90, 0.95, 0.99);
+        return new LreTxnStats(scriptName, transactionName,
+                (int) transactionCount,
+                round3(Double.isNaN(minimum) ? 0 : minimum),
+                round3(Double.isNaN(maximum) ? 0 : maximum),
+                round3(average),
+                // SQRT of a negative rounding residue is NULL in SQLite
+                round3(variance >= 0 ? Math.sqrt(variance) : 0),
+                (int) passCount,
+                (int) failCount,
+                round3(percentiles[0]),
+                round3(percentiles[1]),
+                round3(percentiles[2]),
+                round3(percentiles[3]),
+                histogram());
+    }
+
+    private TxnHistogram histogram() {
+        TxnHistogram histogram = new TxnHistogram();
+        for (int i = 0; i < size; i++) histogram.record(times[i], Math.round(weights[i]));
+        return histogram;
+    }
+
+    /**
+     * Smallest response time whose running weight reaches the fraction of the total; 0 without samples.
+     */
+    private double[] percentiles(double... fractions) {
+        double total = 0;
+        for (int i = 0; i < size; i++) total += weights[i];
+
+        double[] result = new double[fractions.length];
+        double running = 0;
+        int next = 0;
+        for (int i = 0; i < size && next < fractions.length; i++) {
+            running += weights[i];
+            while (next < fractions.length && running >= total * fractions[next]) result[next++] = times[i];
+        }
+        return result;
+    }
+
+    private void addSample(double responseTime, double count) {
+        if (size == times.length) {
+            compact();
+            // Grow unless coalescing freed at least half of the buffer
+            if (size > times.length / 2) {
+                times = Arrays.copyOf(times, times.length * 2);
+                weights = Arrays.copyOf(weights, weights.length * 2);
+            }
+        }
+        times[size] = responseTime;
+        weights[size++] = count;
+    }
+
+    /**
+     * Sorts the samples by response time and coalesces equal times.
+     */
+    private void compact() {
+        if (sortedSize == size) return;
+        sort(0, size - 1);
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (distinct > 0 && times[distinct - 1] == times[i]) {
+                weights[distinct - 1] += weights[i];
+            } else {
+                times[distinct] = times[i];
+                weights[distinct++] = weights[i];
+            }
+        }
+        size = distinct;
+        sortedSize = distinct;
+    }
+
+    private void sort(int low, int high) {
+        while (high - low > INSERTION_SORT_THRESHOLD) {
+            double pivot = times[(low + high) >>> 1];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (times[i] < pivot) i++;
+                while (times[j] > pivot) j--;
+                if (i <= j) swap(i++, j--);
+            }
+            // Recurse into the smaller half to bound the stack depth
+            if (j - low < high - i) {
+                sort(low, j);
+                low = i;
+            } else {
+                sort(i, high);
+                high = j;
+            }
+        }
+        for (int i = low + 1; i <= high; i++) {
+            for (int j = i; j > low && times[j - 1] > times[j]; j--) swap(j, j - 1);
+        }
+    }
+
+    private void swap(int i, int j) {
+        double time = times[i];
+        times[i] = times[j];
+        times[j] = time;
+        double weight = weights[i];
+        weights[i] = weights[j];
+        weights[j] = weight;
+    }
+
+    private static double round3(double value) {
+        return BigDecimal.valueOf(value).setScale(3, RoundingMode.HALF_UP).doubleValue();
+    }
+}
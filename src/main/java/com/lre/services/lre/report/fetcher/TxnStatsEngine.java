@@ -0,0 +1,141 @@
+package com.lre.services.lre.report.fetcher;
+
+import com.lre.common.exceptions.ReportFetchException;
+import com.lre.db.SQLiteReadSession;
+import com.lre.db.SqlQueries;
+import com.lre.model.report.LreTxnStats;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Computes the transaction summary of a results DB in a single pass over {@code Event_meter},
+ * as an alternative to the window functions of {@code SqlQueries.TXN_SUMMARY_SQL}.
+ * <p>
+ * The table is split into rowid ranges that are streamed concurrently on a fork-join pool, each
+ * through its own read connection, into per-(group, transaction) {@link TxnAccumulator}s. Partition
+ * results are merged and the percentiles of the transactions are then computed in parallel.
+ * Results match the SQL path, including rounding and ordering.
+ */
+@Slf4j
+public class TxnStatsEngine {
+
+    // Below this, splitting the scan costs more in connections than it saves
+    private static final long MIN_ROWS_PER_PARTITION = 250_000;
+
+    private record TxnKey(String scriptName, String transactionName) {
+    }
+
+    private final Path dbPath;
+    private final int parallelism;
+    private final long minRowsPerPartition;
+
+    public TxnStatsEngine(Path dbPath, int parallelism) {
+        this(dbPath, parallelism, MIN_ROWS_PER_PARTITION);
+    }
+
+    // Lets tests split small DBs into several partitions
+    TxnStatsEngine(Path dbPath, int parallelism, long minRowsPerPartition) {
+        this.dbPath = dbPath;
+        this.parallelism = Math.max(1, parallelism);
+        this.minRowsPerPartition = Math.max(1, minRowsPerPartition);
+    }
+
+    public List<LreTxnStats> compute() {
+        long start = System.nanoTime();
+        Map<Integer, String> groupNames = new HashMap<>();
+        Map<Integer, String> eventNames = new HashMap<>();
+        long[] rowRange = new long[2];
+        boolean[] hasRows = new boolean[1];
+
+        try (SQLiteReadSession session = new SQLiteReadSession(dbPath)) {
+            session.executeQuery(SqlQueries.VUSER_GROUP_NAMES_SQL, null, rs -> {
+                while (rs.next()) groupNames.put(rs.getInt("Group_ID"), rs.getString("Group_Name"));
+            });
+            session.executeQuery(SqlQueries.TXN_EVENT_NAMES_SQL, null, rs -> {
+                while (rs.next()) eventNames.put(rs.getInt("Event_ID"), rs.getString("Event_Name"));
+            });
+            session.executeQuery(SqlQueries.EVENT_METER_ROWID_RANGE_SQL, null, rs -> {
+                if (!rs.next()) return;
+                rowRange[0] = rs.getLong("Min_Row");
+                rowRange[1] = rs.getLong("Max_Row");
+                hasRows[0] = !rs.wasNull();
+            });
+        }
+        if (!hasRows[0]) return List.of();
+
+        long rows = rowRange[1] - rowRange[0] + 1;
+        int partitions = (int) Math.max(1, Math.min(parallelism, rows / minRowsPerPartition));
+        long sliceSize = (rows + partitions - 1) / partitions;
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            Map<Long, TxnAccumulator> byIds = pool.submit(() -> IntStream.range(0, partitions).parallel()
+                    .mapToObj(i -> scanPartition(rowRange[0] + i * sliceSize,
+                            Math.min(rowRange[1], rowRange[0] + (i + 1) * sliceSize - 1)))
+                    .reduce(TxnStatsEngine::merge)
+                    .orElseGet(HashMap::new)).get();
+
+            Map<TxnKey, TxnAccumulator> byNames = new HashMap<>();
+            byIds.forEach((ids, accumulator) -> {
+                String groupName = groupNames.get((int) (ids >>> 32));
+                String eventName = eventNames.get((int) ids.longValue());
+                byNames.merge(new TxnKey(groupName, eventName), accumulator, (a, b) -> {
+                    a.merge(b);
+                    return a;
+                });
+            });
+
+            List<LreTxnStats> stats = pool.submit(() -> byNames.entrySet().parallelStream()
+                    .map(e -> e.getValue().toStats(e.getKey().scriptName(), e.getKey().transactionName()))
+                    .sorted(Comparator.comparing(LreTxnStats::getScriptName, Comparator.nullsFirst(Comparator.naturalOrder()))
+                            .thenComparing(LreTxnStats::getTransactionName, Comparator.nullsFirst(Comparator.naturalOrder())))
+                    .toList()).get();
+
+            log.info("Computed {} transaction summaries from {} rows in {} partitions in {} ms", stats.size(), rows,
+                    partitions, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return stats;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReportFetchException("Transaction summary computation interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new ReportFetchException("Transaction summary computation failed for " + dbPath, e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Streams one rowid range into accumulators keyed by group ID (high 32 bits) and event ID (low 32 bits).
+     */
+    private Map<Long, TxnAccumulator> scanPartition(long fromRow, long toRow) {
+        Map<Long, TxnAccumulator> accumulators = new HashMap<>();
+        try (SQLiteReadSession session = new SQLiteReadSession(dbPath)) {
+            session.executeQuery(SqlQueries.TXN_METER_ROWS_SQL, List.of(fromRow, toRow), rs -> {
+                while (rs.next()) {
+                    long ids = ((long) rs.getInt(1) << 32) | (rs.getInt(2) & 0xFFFFFFFFL);
+                    int status = rs.getInt(3);
+                    double responseTime = rs.getDouble(4);
+                    if (rs.wasNull()) responseTime = Double.NaN;
+                    double count = rs.getDouble(5);
+                    accumulators.computeIfAbsent(ids, k -> new TxnAccumulator()).add(status, responseTime, count);
+                }
+            });
+        }
+        return accumulators;
+    }
+
+    private static Map<Long, TxnAccumulator> merge(Map<Long, TxnAccumulator> left, Map<Long, TxnAccumulator> right) {
+        right.forEach((ids, accumulator) -> left.merge(ids, accumulator, (a, b) -> {
+            a.merge(b);
+            return a;
+        }));
+        return left;
+    }
+}
@@ -10,7 +10,10 @@ import com.lre.services.lre.report.fetcher.ReportDataService;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.Workbook;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 
 import static com.lre.common.constants.ConfigConstants.*;
@@ -23,16 +26,29 @@ public class ExcelReportPublisher {
 
     private final Path excelFilePath;
     private final ExcelReportEngine engine;
+    private final List<Double> percentiles;
 
-    public ExcelReportPublisher(Path excelFilePath) {
+    public ExcelReportPublisher(Path excelFilePath, List<Double> percentiles) {
         this.excelFilePath = excelFilePath;
         this.engine = new ExcelReportEngine();
+        this.percentiles = percentiles;
+    }
+
+    public ExcelReportPublisher(Path excelFilePath) {
+        this(excelFilePath, List.of());
     }
 
     public ExcelReportPublisher(int runId) {
         this(ExcelReportFileManager.getExcelFilePath(runId));
     }
 
+    /**
+     * @param percentiles percentiles for the percentile sheet, derived from the transaction histograms
+     */
+    public ExcelReportPublisher(int runId, List<Double> percentiles) {
+        this(ExcelReportFileManager.getExcelFilePath(runId), percentiles);
+    }
+
     /**
      * Export Excel report using pre-fetched ReportData.
      *
@@ -56,6 +72,7 @@ public class ExcelReportPublisher {
 
             engine.getSheetWriter().writeModelSheet(TRANSACTION_SUMMARY_SHEET_NAME, txnStatsAll, TXN_SUMMARY_MERGE_COLUMN_NAME);
             engine.getSheetWriter().writeModelSheet(ERROR_SUMMARY_SHEET_NAME, errorStatsAll, null);
+            writePercentileSheet(txnStatsAll);
 
             // Save workbook
             ExcelReportFileManager.createDirectoriesIfNotExist(excelFilePath.getParent());
@@ -68,4 +85,28 @@ public class ExcelReportPublisher {
             throw new LreException("Failed to export Excel report to " + excelFilePath, e);
         }
     }
+
+    /**
+     * Writes the configured percentiles of every transaction that carries a histogram.
+     */
+    private void writePercentileSheet(List<LreTxnStats> txnStats) {
+        if (percentiles.isEmpty() || txnStats == null) return;
+        List<LreTxnStats> withHistograms = txnStats.stream().filter(t -> t.histogram() != null).toList();
+        if (withHistograms.isEmpty()) {
+            log.debug("No transaction histograms available; skipping the {} sheet", TXN_PERCENTILES_SHEET_NAME);
+            return;
+        }
+
+        List<String> headers = new ArrayList<>(List.of(TXN_SUMMARY_MERGE_COLUMN_NAME, "TransactionName", "Count"));
+        percentiles.forEach(p -> headers.add("P" + BigDecimal.valueOf(p).stripTrailingZeros().toPlainString()));
+
+        List<List<Object>> rows = withHistograms.stream().map(t -> {
+            List<Object> row = new ArrayList<>(List.of(t.getScriptName(), t.getTransactionName(), t.histogram().getTotalCount()));
+            percentiles.forEach(p -> row.add(BigDecimal.valueOf(t.histogram().valueAtPercentile(p))
+                    .setScale(3, RoundingMode.HALF_UP).doubleValue()));
+            return row;
+        }).toList();
+
+        engine.getSheetWriter().writeTableSheet(TXN_PERCENTILES_SHEET_NAME, headers, rows, TXN_SUMMARY_MERGE_COLUMN_NAME);
+    }
 }
@@ -0,0 +1,82 @@
+package com.lre.services.lre.report.renderer.excel;
+
+import com.lre.excel.ExcelStyleFactory;
+import com.lre.excel.ExcelValueWriter;
+import com.lre.services.lre.report.export.RowWriter;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Writes rows to an .xlsx file through POI's streaming workbook, which keeps only a small window
+ * of rows in memory and flushes the rest to a temp file. Rows beyond the Excel sheet limit continue
+ * on a new sheet. Columns get a fixed width, as auto-sizing would need every row in memory.
+ */
+public class ExcelRowWriter implements RowWriter {
+
+    private static final int ROW_WINDOW = 200;
+    private static final int COLUMN_WIDTH = 20 * 256;
+    private static final int MAX_DATA_ROWS = SpreadsheetVersion.EXCEL2007.getLastRowIndex();
+
+    private final Path target;
+    private final String sheetName;
+    private final SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW);
+    private final ExcelStyleFactory styles = new ExcelStyleFactory(workbook);
+    private final ExcelValueWriter valueWriter = new ExcelValueWriter(styles);
+
+    private List<String> columns;
+    private Sheet sheet;
+    private int sheetCount;
+    private int rowIndex;
+
+    public ExcelRowWriter(Path target, String sheetName) {
+        this.target = target;
+        this.sheetName = sheetName;
+        workbook.setCompressTempFiles(true);
+    }
+
+    @Override
+    public void writeHeader(List<String> columns) {
+        this.columns = columns;
+        newSheet();
+    }
+
+    @Override
+    public void writeRow(Object[] values) {
+        if (rowIndex > MAX_DATA_ROWS) newSheet();
+        Row row = sheet.createRow(rowIndex++);
+        for (int c = 0; c < values.length; c++) {
+            valueWriter.write(row.createCell(c), values[c]);
+        }
+    }
+
+    private void newSheet() {
+        sheet = workbook.createSheet(sheetCount++ == 0 ? sheetName : sheetName + "_" + sheetCount);
+        sheet.createFreezePane(0, 1);
+        Row header = sheet.createRow(0);
+        for (int c = 0; c < columns.size(); c++) {
+            Cell cell = header.createCell(c);
+            cell.setCellValue(columns.get(c));
+            cell.setCellStyle(styles.getHeaderStyle());
+            sheet.setColumnWidth(c, COLUMN_WIDTH);
+        }
+        rowIndex = 1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (OutputStream out = Files.newOutputStream(target)) {
+            workbook.write(out);
+        } finally {
+            workbook.close(); // also deletes the temp files of flushed rows
+        }
+    }
+}
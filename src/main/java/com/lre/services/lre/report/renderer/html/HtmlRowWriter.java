@@ -0,0 +1,64 @@
+package com.lre.services.lre.report.renderer.html;
+
+import com.lre.services.lre.report.export.RowWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+import static com.lre.common.utils.CommonUtils.escapeHtml;
+
+/**
+ * Writes rows as a standalone HTML table page, streaming each row to the output.
+ */
+public class HtmlRowWriter implements RowWriter {
+
+    private static final String PAGE_START = """
+            <!DOCTYPE html>
+            <html><head><meta charset='UTF-8'><title>%s</title></head>
+            <body style='font-family:Arial, sans-serif;'>
+            <h3 style='color:#2c3e50;'>%s</h3>
+            <table cellpadding='6' cellspacing='0' style='border-collapse: collapse; font-size:12px;'>
+            """;
+    private static final String PAGE_END = "</tbody></table></body></html>\n";
+
+    private final Writer out;
+    private final String title;
+    private long rows;
+
+    public HtmlRowWriter(Writer out, String title) {
+        this.out = out instanceof BufferedWriter ? out : new BufferedWriter(out);
+        this.title = escapeHtml(title);
+    }
+
+    @Override
+    public void writeHeader(List<String> columns) throws IOException {
+        out.write(PAGE_START.formatted(title, title));
+        out.write("<thead><tr style='background:#6f2b8f; color:#fff; text-align:left;'>");
+        for (String column : columns) {
+            out.write("<th>");
+            out.write(escapeHtml(column));
+            out.write("</th>");
+        }
+        out.write("</tr></thead>\n<tbody>\n");
+    }
+
+    @Override
+    public void writeRow(Object[] values) throws IOException {
+        out.write(rows++ % 2 == 0 ? "<tr>" : "<tr style='background:#f7f7f7'>");
+        for (Object value : values) {
+            out.write("<td>");
+            out.write(escapeHtml(value == null ? "" : value.toString()));
+            out.write("</td>");
+        }
+        out.write("</tr>\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (out) {
+            out.write(PAGE_END);
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package com.lre.validation.groups;
 
-import com.lre.client.api.lre.LreRestApis;
 import com.lre.common.exceptions.LreException;
 import com.lre.model.enums.HostType;
 import com.lre.model.enums.LGDistributionType;
@@ -9,6 +8,7 @@ import com.lre.model.test.testcontent.groups.hosts.CloudTemplate;
 import com.lre.model.test.testcontent.groups.hosts.Host;
 import com.lre.model.test.testcontent.groups.hosts.HostResponse;
 import com.lre.model.yaml.YamlGroup;
+import com.lre.validation.testcontent.ValidationContext;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
@@ -19,30 +19,16 @@ import java.util.stream.Collectors;
 @Slf4j
 public class LreGroupHostValidator {
 
-    private final LreRestApis restApis;
+    private final ValidationContext context;
     private final TestContent content;
-    private List<CloudTemplate> cloudTemplatesCache;
-    private List<HostResponse> specificLGsCache;
 
     private static final Pattern AUTOMATCH_PATTERN = Pattern.compile("^LG\\d+$", Pattern.CASE_INSENSITIVE);
     private static final Pattern CLOUD_PATTERN = Pattern.compile("^cloud\\d+$", Pattern.CASE_INSENSITIVE);
     private static final Pattern DYNAMIC_PATTERN = Pattern.compile("^docker\\d+$", Pattern.CASE_INSENSITIVE);
 
-    public LreGroupHostValidator(LreRestApis restApis, TestContent content) {
-        this.restApis = restApis;
+    public LreGroupHostValidator(ValidationContext context, TestContent content) {
+        this.context = context;
         this.content = content;
-        this.cloudTemplatesCache = getAllCloudTemplatesCache();
-        this.specificLGsCache = getAllOnPremLGsCache();
-    }
-
-    private List<CloudTemplate> getAllCloudTemplatesCache() {
-        if (cloudTemplatesCache == null) cloudTemplatesCache = restApis.fetchAllCloudTemplates();
-        return cloudTemplatesCache;
-    }
-
-    private List<HostResponse> getAllOnPremLGsCache() {
-        if (specificLGsCache == null) specificLGsCache = restApis.fetchLoadGenerators();
-        return specificLGsCache;
     }
 
 
@@ -128,11 +114,9 @@ public class LreGroupHostValidator {
 
     private void validateOnPremLGs(String lgName) {
         if (StringUtils.isNotEmpty(lgName)) {
-            List<HostResponse> hosts = getAllOnPremLGsCache();
-            boolean exists = hosts.stream().anyMatch(lg -> lgName.equalsIgnoreCase(lg.getName()));
-            if (exists) log.debug("LG '{}' is available in LRE server", lgName);
+            if (context.findLoadGenerator(lgName).isPresent()) log.debug("LG '{}' is available in LRE server", lgName);
             else {
-                String availableHosts = hosts.stream().map(HostResponse::getName).collect(Collectors.joining(", "));
+                String availableHosts = context.getLoadGenerators().stream().map(HostResponse::getName).collect(Collectors.joining(", "));
                 throw new LreException(String.format("Given LG '%s' is not available on LRE. Expected one of: [%s]", lgName, availableHosts));
             }
         }
@@ -161,7 +145,7 @@ public class LreGroupHostValidator {
     }
 
     private String fetchDefaultTemplateFromLre(String hostname, String groupName) {
-        List<CloudTemplate> templates = getAllCloudTemplatesCache();
+        List<CloudTemplate> templates = context.getCloudTemplates();
         if (templates.isEmpty()) {
             throw new LreException("No cloud templates available in LRE for host: " + hostname +
                     " in group: " + groupName);
@@ -170,6 +154,7 @@ public class LreGroupHostValidator {
                 .filter(t -> t.getName().toLowerCase().contains("default"))
                 .findFirst();
         CloudTemplate selectedTemplate = defaultTemplate.orElse(templates.get(0));
+        context.recordCloudTemplate(selectedTemplate);
 
         log.info("Selected default template '{}' (ID: {}) for host: {} in group: {}",
                 selectedTemplate.getName(), selectedTemplate.getId(), hostname, groupName);
@@ -181,23 +166,19 @@ public class LreGroupHostValidator {
         // Numeric ID
         if (templateKey.matches("\\d+")) {
             int templateId = Integer.parseInt(templateKey);
-            CloudTemplate template = restApis.fetchCloudTemplateById(templateId);
-            if (template == null) {
-                throw new LreException("No cloud template found with ID=" + templateId +
-                        " for host: " + hostname + " in group: " + groupName);
-            }
-            return String.valueOf(template.getId());
+            return context.findCloudTemplateById(templateId)
+                    .map(t -> String.valueOf(t.getId()))
+                    .orElseThrow(() -> new LreException("No cloud template found with ID=" + templateId +
+                            " for host: " + hostname + " in group: " + groupName));
         }
 
         // Template name (case-insensitive)
-        return getAllCloudTemplatesCache().stream()
-                .filter(t -> templateKey.equalsIgnoreCase(t.getName()))
-                .findFirst()
+        return context.findCloudTemplateByName(templateKey)
                 .map(t -> String.valueOf(t.getId()))
                 .orElseThrow(() -> new LreException(
                         String.format("No cloud template found with name='%s' for host: %s in group: %s. Available templates: %s",
                                 templateKey, hostname, groupName,
-                                getAllCloudTemplatesCache().stream()
+                                context.getCloudTemplates().stream()
                                         .map(CloudTemplate::getName)
                                         .collect(Collectors.joining(", "))))
                 );
@@ -1,23 +1,20 @@
 package com.lre.validation.groups;
 
-import com.lre.client.api.lre.LreRestApis;
 import com.lre.common.exceptions.LreException;
 import com.lre.common.utils.CommonUtils;
 import com.lre.model.test.testcontent.groups.script.Script;
 import com.lre.model.yaml.YamlGroup;
-import com.lre.services.git.LreScriptManager;
+import com.lre.validation.testcontent.ValidationContext;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
 @Slf4j
 public class LreGroupScriptValidator {
 
-    private final LreRestApis restApis;
-    private final LreScriptManager scriptManager;
+    private final ValidationContext context;
 
-    public LreGroupScriptValidator(LreRestApis restApis) {
-        this.restApis = restApis;
-        this.scriptManager = new LreScriptManager(restApis);
+    public LreGroupScriptValidator(ValidationContext context) {
+        this.context = context;
     }
 
     public Script validateYamlGroupScript(YamlGroup group) {
@@ -34,8 +31,8 @@ public class LreGroupScriptValidator {
 
 
     private Script fetchScriptById(int scriptId, String groupName) {
-        Script script = restApis.fetchScriptById(scriptId);
-        if (script == null) throw new LreException("No Script found with ID " + scriptId + " for group " + groupName);
+        Script script = context.findScriptById(scriptId).orElseThrow(() ->
+                new LreException("No Script found with ID " + scriptId + " for group " + groupName));
         log.debug("Fetched script by ID {} for group {}", scriptId, groupName);
         return script;
     }
@@ -50,7 +47,11 @@ public class LreGroupScriptValidator {
         String folderPath = normalizedPath.substring(0, lastBackslash);
         String fileName = normalizedPath.substring(lastBackslash + 1);
 
-        return scriptManager.getScriptByName(folderPath, fileName);
+        return context.findScript(folderPath, fileName).orElseThrow(() -> {
+            String msg = String.format("No Script named '%s' was found under folder %s", fileName, folderPath);
+            log.warn(msg);
+            return new LreException(msg);
+        });
     }
 
 }
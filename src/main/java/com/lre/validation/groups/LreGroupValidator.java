@@ -14,17 +14,20 @@ import com.lre.model.yaml.YamlTest;
 import com.lre.validation.rts.*;
 import com.lre.validation.scheduler.SchedulerValidator;
 import com.lre.validation.scheduler.StartGroupValidator;
+import com.lre.validation.testcontent.ValidationContext;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Slf4j
-public record LreGroupValidator(LreRestApis restApis, TestContent content, YamlTest yamlTest) {
+public record LreGroupValidator(LreRestApis restApis, ValidationContext context, TestContent content, YamlTest yamlTest,
+                                boolean parallel) {
     private static final int DEFAULT_VUSERS = 1;
 
     public void validateGroups() {
@@ -32,9 +35,7 @@ public record LreGroupValidator(LreRestApis restApis, TestContent content, YamlT
             throw new LreException("At least one group is required in your load test");
         }
 
-        List<Group> validatedGroups = yamlTest.getGroups().stream()
-                .map(yamlGroup -> new GroupBuilder(yamlGroup).build())
-                .toList();
+        List<Group> validatedGroups = compileGroups(yamlTest.getGroups());
 
         content.setGroups(validatedGroups);
         validateAllGroupDependencies();
@@ -42,6 +43,65 @@ public record LreGroupValidator(LreRestApis restApis, TestContent content, YamlT
         log.debug("All groups validated successfully. Total groups: {}", validatedGroups.size());
     }
 
+    /**
+     * Builds every group, on a fork-join pool when parallel validation is enabled. Groups keep their
+     * YAML order, and the errors of all failing groups are reported together: a single failure
+     * becomes the cause of the aggregated exception, several are attached as suppressed exceptions.
+     */
+    private List<Group> compileGroups(List<YamlGroup> yamlGroups) {
+        int count = yamlGroups.size();
+        Group[] groups = new Group[count];
+        RuntimeException[] errors = new RuntimeException[count];
+
+        IntConsumer compile = i -> {
+            YamlGroup yamlGroup = yamlGroups.get(i);
+            try {
+                groups[i] = new GroupBuilder(yamlGroup).build();
+            } catch (RuntimeException e) {
+                errors[i] = e;
+            }
+        };
+
+        long start = System.nanoTime();
+        int parallelism = Math.min(count, Runtime.getRuntime().availableProcessors());
+        if (parallel && parallelism > 1) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.submit(() -> IntStream.range(0, count).parallel().forEach(compile)).join();
+            } finally {
+                pool.shutdown();
+            }
+        } else {
+            IntStream.range(0, count).forEach(compile);
+        }
+        log.debug("Compiled {} groups in {} ms ({})", count,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                parallel && parallelism > 1 ? "parallelism " + parallelism : "sequential");
+
+        List<String> failures = new ArrayList<>();
+        List<RuntimeException> causes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (errors[i] == null) continue;
+            String name = StringUtils.defaultIfBlank(yamlGroups.get(i).getName(), "#" + (i + 1));
+            failures.add(String.format("Group '%s': %s", name, describe(errors[i])));
+            causes.add(errors[i]);
+        }
+        if (!failures.isEmpty()) {
+            String message = String.format("%d of %d groups failed validation:%n - %s",
+                    failures.size(), count, String.join(System.lineSeparator() + " - ", failures));
+            if (causes.size() == 1) throw new LreException(message, causes.get(0));
+            LreException failure = new LreException(message);
+            causes.forEach(failure::addSuppressed);
+            throw failure;
+        }
+        return List.of(groups);
+    }
+
+    // Exceptions without a message, e.g. a NullPointerException, are reported by type
+    private static String describe(RuntimeException e) {
+        return StringUtils.isNotBlank(e.getMessage()) ? e.getMessage() : e.toString();
+    }
+
     private void validateAllGroupDependencies() {
         StartGroupValidator groupValidator = new StartGroupValidator(content);
         for (Group group : content.getGroups()) {
@@ -61,8 +121,8 @@ public record LreGroupValidator(LreRestApis restApis, TestContent content, YamlT
 
         Group build() {
             group.setName(yamlGroup.getName());
-            group.setScript(new LreGroupScriptValidator(restApis).validateYamlGroupScript(yamlGroup));
-            List<Host> hosts = new LreGroupHostValidator(restApis, content).validateAndPopulateHosts(yamlGroup);
+            group.setScript(new LreGroupScriptValidator(context).validateYamlGroupScript(yamlGroup));
+            List<Host> hosts = new LreGroupHostValidator(context, content).validateAndPopulateHosts(yamlGroup);
             setHostsIfPresent(group, hosts);
 
             resolveCommandLine();
@@ -3,10 +3,10 @@ package com.lre.validation.testcontent;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.lre.client.api.lre.LreMetadataCache;
 import com.lre.client.api.lre.LreRestApis;
 import com.lre.common.exceptions.LreException;
 import com.lre.client.runmodel.LreTestRunModel;
-import com.lre.common.utils.XmlUtils;
 import com.lre.model.enums.LGDistributionType;
 import com.lre.model.test.testcontent.TestContent;
 import com.lre.model.test.testcontent.analysistemplate.AnalysisTemplate;
@@ -28,11 +28,11 @@ import com.lre.validation.trending.AutomaticTrendingValidator;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
-import java.io.FileWriter;
-import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 
+import static com.lre.common.constants.ConfigConstants.COMPILED_TESTS_DIR;
+
 @Slf4j
 public class LreTestContentValidator {
     private static final ObjectMapper YAML_MAPPER = new ObjectMapper(new YAMLFactory());
@@ -40,6 +40,8 @@ public class LreTestContentValidator {
     private final LreTestRunModel model;
     private final TestContent content;
     private final YamlTest yamlTest;
+    private final TestContentCompileCache compileCache;
+    private ValidationContext context;
 
     private static final String CONTROLLER_NOT_FOUND =
             "Given Controller '%s' is not available on LRE. Expected one of: [%s]";
@@ -49,10 +51,17 @@ public class LreTestContentValidator {
         this.restApis = restApis;
         content = new TestContent();
         yamlTest = getTestContentFromYaml();
+        compileCache = new TestContentCompileCache(
+                LreMetadataCache.resolveCacheDir(model).resolve(COMPILED_TESTS_DIR), model.isCompileCacheEnabled());
     }
 
 
     public TestContent buildTestContent() {
+        context = ValidationContext.load(restApis, yamlTest);
+        String yamlFingerprint = TestContentCompileCache.fingerprint(model.getTestContentToCreate());
+        Optional<TestContent> cached = compileCache.lookup(yamlFingerprint, context);
+        if (cached.isPresent()) return cached.get();
+
         validateController();
         validateWorkloadType();
         validateLGDistribution();
@@ -66,13 +75,7 @@ public class LreTestContentValidator {
         validateAutomaticTrendReportData();
         validateSLA();
 
-
-        try (FileWriter writer = new FileWriter("Test.xml")) {
-            writer.write(XmlUtils.toXml(content));
-        } catch (IOException e) {
-            log.error("Failed to write run id: {}", e.getMessage());
-        }
-
+        compileCache.store(yamlFingerprint, content, context.getDependencies());
         return content;
     }
 
@@ -88,11 +91,9 @@ public class LreTestContentValidator {
     private void validateController() {
         String controller = yamlTest.getController();
         if (StringUtils.isNotEmpty(controller)) {
-            List<HostResponse> hosts = restApis.fetchControllers();
-            boolean exists = hosts.stream().anyMatch(host -> controller.equalsIgnoreCase(host.getName()));
-            if (exists) log.debug("Controller '{}' is available in LRE server", controller);
+            if (context.findController(controller).isPresent()) log.debug("Controller '{}' is available in LRE server", controller);
             else {
-                String availableHosts = hosts.stream().map(HostResponse::getName).collect(Collectors.joining(", "));
+                String availableHosts = context.getControllers().stream().map(HostResponse::getName).collect(Collectors.joining(", "));
                 throw new LreException(String.format(CONTROLLER_NOT_FOUND, controller, availableHosts));
             }
         }
@@ -123,7 +124,7 @@ public class LreTestContentValidator {
     }
 
     private void validateGroups() {
-        new LreGroupValidator(restApis, content, yamlTest).validateGroups();
+        new LreGroupValidator(restApis, context, content, yamlTest, model.isParallelGroupValidation()).validateGroups();
     }
 
     private void validateSLA() {
@@ -0,0 +1,124 @@
+package com.lre.validation.testcontent;
+
+import com.lre.common.utils.CommonUtils;
+import com.lre.common.utils.JsonUtils;
+import com.lre.common.utils.XmlUtils;
+import com.lre.model.test.testcontent.TestContent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * On-disk cache of compiled {@link TestContent}, keyed by a fingerprint of the YAML text.
+ * <p>
+ * Each entry also stores the IDs and versions of the LRE metadata the content was resolved
+ * against. A hit is only returned while that metadata is still present and unchanged in the
+ * current {@link ValidationContext}, so a re-uploaded script or a removed load generator forces
+ * a full validation. Entries that do not survive a serialization round trip are never stored.
+ */
+@Slf4j
+public class TestContentCompileCache {
+
+    // Bump when the compiled model changes shape, so older entries are ignored
+    private static final String FORMAT_VERSION = "1";
+    private static final Duration MAX_AGE = Duration.ofDays(7);
+
+    public record Entry(String contentHash, String content, ValidationContext.Dependencies dependencies) {
+    }
+
+    private final Path dir;
+    private final boolean enabled;
+
+    public TestContentCompileCache(Path dir, boolean enabled) {
+        this.dir = dir;
+        this.enabled = enabled;
+    }
+
+    public static String fingerprint(String yaml) {
+        return CommonUtils.sha256Hex(FORMAT_VERSION + "\n" + yaml);
+    }
+
+    /**
+     * Returns the cached content for the YAML fingerprint if its metadata is still current.
+     */
+    public Optional<TestContent> lookup(String yamlFingerprint, ValidationContext context) {
+        if (!enabled) return Optional.empty();
+        Path file = fileOf(yamlFingerprint);
+        if (!Files.exists(file)) return Optional.empty();
+
+        try {
+            Entry entry = JsonUtils.fromJson(Files.readString(file, StandardCharsets.UTF_8), Entry.class);
+            if (entry.dependencies() != null && !context.isSatisfied(entry.dependencies())) {
+                log.info("Compiled test content cache is stale: referenced LRE metadata changed");
+                return Optional.empty();
+            }
+            TestContent content = JsonUtils.fromJson(entry.content(), TestContent.class);
+            if (!entry.contentHash().equals(hash(content))) {
+                log.debug("Discarding compiled test content cache entry {}: content hash mismatch", file);
+                return Optional.empty();
+            }
+            log.info("Using cached compiled test content (YAML fingerprint {})", abbreviate(yamlFingerprint));
+            return Optional.of(content);
+        } catch (Exception e) {
+            log.debug("Ignoring unreadable compiled test content cache entry {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void store(String yamlFingerprint, TestContent content, ValidationContext.Dependencies dependencies) {
+        if (!enabled) return;
+        try {
+            String contentHash = hash(content);
+            String json = JsonUtils.toJson(content);
+            if (!contentHash.equals(hash(JsonUtils.fromJson(json, TestContent.class)))) {
+                log.debug("Compiled test content does not round-trip through JSON; not caching it");
+                return;
+            }
+
+            Files.createDirectories(dir);
+            Path file = fileOf(yamlFingerprint);
+            Path tempFile = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+            try {
+                Files.writeString(tempFile, JsonUtils.toJson(new Entry(contentHash, json, dependencies)), StandardCharsets.UTF_8);
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+            log.debug("Cached compiled test content (YAML fingerprint {})", abbreviate(yamlFingerprint));
+            pruneExpired();
+        } catch (Exception e) {
+            log.warn("Failed to cache compiled test content: {}", e.getMessage());
+        }
+    }
+
+    private void pruneExpired() {
+        Instant cutoff = Instant.now().minus(MAX_AGE);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*.json")) {
+            for (Path file : files) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            log.debug("Failed to prune compiled test content cache: {}", e.getMessage());
+        }
+    }
+
+    private static String hash(TestContent content) {
+        return CommonUtils.sha256Hex(XmlUtils.toXml(content));
+    }
+
+    private static String abbreviate(String hash) {
+        return hash.substring(0, Math.min(12, hash.length()));
+    }
+
+    private Path fileOf(String yamlFingerprint) {
+        return dir.resolve(yamlFingerprint + ".json");
+    }
+}
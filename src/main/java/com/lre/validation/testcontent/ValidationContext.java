@@ -0,0 +1,240 @@
+package com.lre.validation.testcontent;
+
+import com.lre.client.api.lre.LreRestApis;
+import com.lre.common.exceptions.LreException;
+import com.lre.model.script.ScriptIndex;
+import com.lre.model.test.testcontent.groups.hosts.CloudTemplate;
+import com.lre.model.test.testcontent.groups.hosts.HostResponse;
+import com.lre.model.test.testcontent.groups.script.Script;
+import com.lre.model.yaml.YamlGroup;
+import com.lre.model.yaml.YamlTest;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * LRE metadata needed to validate one YAML test, fetched once and shared by all validators.
+ * <p>
+ * Only the collections the YAML actually needs are fetched (scripts when groups exist, controllers
+ * when a controller is named, load generators and cloud templates for manual LG distribution),
+ * and they are fetched in parallel. Validators then use indexed, case-insensitive lookups instead
+ * of fetching and scanning the lists once per group.
+ * <p>
+ * Every successful lookup is recorded, so the compiled content can later be checked against the
+ * metadata it was resolved from (see {@link #getDependencies()} and {@link #isSatisfied(Dependencies)}).
+ */
+@Slf4j
+public class ValidationContext {
+
+    private final LreRestApis restApis;
+    @Getter
+    private final ScriptIndex scripts;
+    @Getter
+    private final List<HostResponse> controllers;
+    @Getter
+    private final List<HostResponse> loadGenerators;
+    @Getter
+    private final List<CloudTemplate> cloudTemplates;
+
+    private final Map<String, HostResponse> controllersByName;
+    private final Map<String, HostResponse> loadGeneratorsByName;
+    private final Map<String, CloudTemplate> cloudTemplatesByName;
+    private final Map<Integer, CloudTemplate> cloudTemplatesById;
+
+    // Metadata actually resolved by the validators; groups may be validated in parallel
+    private final Map<Integer, String> resolvedScripts = new ConcurrentHashMap<>();
+    private final Set<String> resolvedControllers = ConcurrentHashMap.newKeySet();
+    private final Set<String> resolvedLoadGenerators = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> resolvedCloudTemplates = ConcurrentHashMap.newKeySet();
+
+    /**
+     * IDs and versions of the LRE metadata a compiled test depends on.
+     *
+     * @param scripts         script ID to its LastModifyDate
+     * @param controllers     controller names
+     * @param loadGenerators  load generator names
+     * @param cloudTemplates  cloud template IDs
+     */
+    public record Dependencies(Map<Integer, String> scripts, Set<String> controllers,
+                               Set<String> loadGenerators, Set<Integer> cloudTemplates) {
+    }
+
+    private ValidationContext(LreRestApis restApis,
+                              ScriptIndex scripts,
+                              List<HostResponse> controllers,
+                              List<HostResponse> loadGenerators,
+                              List<CloudTemplate> cloudTemplates) {
+        this.restApis = restApis;
+        this.scripts = scripts;
+        this.controllers = List.copyOf(controllers);
+        this.loadGenerators = List.copyOf(loadGenerators);
+        this.cloudTemplates = List.copyOf(cloudTemplates);
+        this.controllersByName = indexBy(this.controllers, HostResponse::getName);
+        this.loadGeneratorsByName = indexBy(this.loadGenerators, HostResponse::getName);
+        this.cloudTemplatesByName = indexBy(this.cloudTemplates, CloudTemplate::getName);
+        this.cloudTemplatesById = this.cloudTemplates.stream()
+                .filter(t -> t.getId() != null)
+                .collect(Collectors.toMap(CloudTemplate::getId, Function.identity(), (a, b) -> a));
+    }
+
+    /**
+     * Fetches, in parallel, the metadata referenced by the given YAML test.
+     */
+    public static ValidationContext load(LreRestApis restApis, YamlTest yamlTest) {
+        boolean hasGroups = yamlTest.getGroups() != null && !yamlTest.getGroups().isEmpty();
+        boolean hasController = StringUtils.isNotEmpty(yamlTest.getController());
+        boolean manualHosts = yamlTest.getLgAmount() == null && hasGroups
+                && yamlTest.getGroups().stream().map(YamlGroup::getHostnames).anyMatch(StringUtils::isNotBlank);
+
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(4, r -> {
+            Thread thread = new Thread(r, "lre-validation-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            var scripts = hasGroups
+                    ? CompletableFuture.supplyAsync(restApis::fetchScriptIndex, executor)
+                    : CompletableFuture.completedFuture(new ScriptIndex());
+            var controllers = fetchIf(hasController, restApis::fetchControllers, executor);
+            var loadGenerators = fetchIf(manualHosts, restApis::fetchLoadGenerators, executor);
+            var cloudTemplates = fetchIf(manualHosts, restApis::fetchAllCloudTemplates, executor);
+
+            ValidationContext context = new ValidationContext(restApis, joinValue(scripts), join(controllers),
+                    join(loadGenerators), join(cloudTemplates));
+            log.debug("Prefetched validation metadata in {} ms: {} scripts, {} controllers, {} LGs, {} cloud templates",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), context.scripts.size(),
+                    context.controllers.size(), context.loadGenerators.size(), context.cloudTemplates.size());
+            return context;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Looks up a script by ID, fetching it from LRE when the prefetched index does not hold it.
+     */
+    public Optional<Script> findScriptById(int id) {
+        Optional<Script> script = resolveScriptById(id);
+        script.ifPresent(this::recordScript);
+        return script;
+    }
+
+    public Optional<Script> findScript(String testFolderPath, String scriptName) {
+        Optional<Script> script = scripts.findByFolderAndName(testFolderPath, scriptName);
+        script.ifPresent(this::recordScript);
+        return script;
+    }
+
+    public Optional<HostResponse> findController(String name) {
+        Optional<HostResponse> controller = Optional.ofNullable(controllersByName.get(normalize(name)));
+        controller.ifPresent(c -> resolvedControllers.add(normalize(c.getName())));
+        return controller;
+    }
+
+    public Optional<HostResponse> findLoadGenerator(String name) {
+        Optional<HostResponse> loadGenerator = Optional.ofNullable(loadGeneratorsByName.get(normalize(name)));
+        loadGenerator.ifPresent(lg -> resolvedLoadGenerators.add(normalize(lg.getName())));
+        return loadGenerator;
+    }
+
+    public Optional<CloudTemplate> findCloudTemplateByName(String name) {
+        Optional<CloudTemplate> template = Optional.ofNullable(cloudTemplatesByName.get(normalize(name)));
+        template.ifPresent(this::recordCloudTemplate);
+        return template;
+    }
+
+    public Optional<CloudTemplate> findCloudTemplateById(int id) {
+        Optional<CloudTemplate> template = Optional.ofNullable(cloudTemplatesById.get(id));
+        template.ifPresent(this::recordCloudTemplate);
+        return template;
+    }
+
+    private void recordScript(Script script) {
+        resolvedScripts.put(script.getId(), Objects.toString(script.getLastModifyDate(), ""));
+    }
+
+    /**
+     * Records a cloud template picked from {@link #getCloudTemplates()} rather than looked up.
+     */
+    public void recordCloudTemplate(CloudTemplate template) {
+        if (template.getId() != null) resolvedCloudTemplates.add(template.getId());
+    }
+
+    public Dependencies getDependencies() {
+        return new Dependencies(new TreeMap<>(resolvedScripts), new TreeSet<>(resolvedControllers),
+                new TreeSet<>(resolvedLoadGenerators), new TreeSet<>(resolvedCloudTemplates));
+    }
+
+    /**
+     * Checks that all metadata a compiled test was resolved against still exists unchanged.
+     */
+    public boolean isSatisfied(Dependencies dependencies) {
+        for (Map.Entry<Integer, String> script : dependencies.scripts().entrySet()) {
+            Optional<Script> current;
+            try {
+                current = resolveScriptById(script.getKey());
+            } catch (LreException e) {
+                log.debug("Script {} could not be fetched: {}", script.getKey(), e.getMessage());
+                return false;
+            }
+            if (current.isEmpty() || !script.getValue().equals(Objects.toString(current.get().getLastModifyDate(), ""))) {
+                log.debug("Script {} changed since the test was compiled", script.getKey());
+                return false;
+            }
+        }
+        return controllersByName.keySet().containsAll(dependencies.controllers())
+                && loadGeneratorsByName.keySet().containsAll(dependencies.loadGenerators())
+                && cloudTemplatesById.keySet().containsAll(dependencies.cloudTemplates());
+    }
+
+    /**
+     * Index lookup with a fetch by ID as fallback. Fetched scripts are added to the index, so the
+     * compile cache check and the validators resolve them the same way and fetch them only once.
+     */
+    private Optional<Script> resolveScriptById(int id) {
+        Optional<Script> indexed = scripts.findById(id);
+        if (indexed.isPresent()) return indexed;
+        Script fetched = restApis.fetchScriptById(id);
+        if (fetched == null) return Optional.empty();
+        scripts.add(fetched);
+        log.debug("Fetched script {} missing from the script index", id);
+        return Optional.of(fetched);
+    }
+
+    private static <T> CompletableFuture<List<T>> fetchIf(boolean needed, Supplier<List<T>> fetch, Executor executor) {
+        if (!needed) return CompletableFuture.completedFuture(List.of());
+        return CompletableFuture.supplyAsync(fetch, executor);
+    }
+
+    private static <T> List<T> join(CompletableFuture<List<T>> future) {
+        List<T> result = joinValue(future);
+        return result != null ? result : List.of();
+    }
+
+    private static <T> T joinValue(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof LreException lreException) throw lreException;
+            throw new LreException("Failed to fetch validation metadata from LRE", e.getCause());
+        }
+    }
+
+    // First match wins, like the previous list scans
+    private static <T> Map<String, T> indexBy(List<T> items, Function<T, String> name) {
+        Map<String, T> index = new HashMap<>();
+        for (T item : items) index.putIfAbsent(normalize(name.apply(item)), item);
+        return index;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,143 @@
+package com.lre.model.report;
+
+import com.lre.common.exceptions.LreException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TxnHistogramTest {
+
+    private static final double[] PERCENTILES = {0, 1, 25, 50, 75, 90, 95, 99, 99.9, 100};
+
+    @Test
+    void encodeDecodeRoundTripKeepsEveryBucket() {
+        TxnHistogram histogram = new TxnHistogram();
+        histogram.record(0, 3);
+        histogram.record(0.000_255, 1);  // last exact bucket
+        histogram.record(0.000_256, 2);  // first sub-bucket
+        histogram.record(1.5, 40);
+        histogram.record(120, 1);        // sparse tail: long run of empty buckets
+        histogram.record(Long.MAX_VALUE / 1e7, 1);
+
+        TxnHistogram decoded = TxnHistogram.decode(histogram.encode());
+
+        assertEquals(histogram.encode(), decoded.encode());
+        assertEquals(histogram.getTotalCount(), decoded.getTotalCount());
+        assertEquals(histogram.getMinimum(), decoded.getMinimum());
+        assertEquals(histogram.getMaximum(), decoded.getMaximum());
+        for (double percentile : PERCENTILES) {
+            assertEquals(histogram.valueAtPercentile(percentile), decoded.valueAtPercentile(percentile), "p" + percentile);
+        }
+    }
+
+    @Test
+    void emptyHistogramRoundTrips() {
+        TxnHistogram decoded = TxnHistogram.decode(new TxnHistogram().encode());
+
+        assertEquals(0, decoded.getTotalCount());
+        assertEquals(0, decoded.getMinimum());
+        assertEquals(0, decoded.getMaximum());
+        assertEquals(0, decoded.valueAtPercentile(50));
+    }
+
+    @Test
+    void decodeRejectsInvalidInput() {
+        assertThrows(LreException.class, () -> TxnHistogram.decode("not base64!"));
+        assertThrows(LreException.class, () -> TxnHistogram.decode("Ag=="));   // unknown version
+        assertThrows(LreException.class, () -> TxnHistogram.decode("AYCA"));   // truncated varint
+    }
+
+    @Test
+    void addEqualsRecordingIntoOneHistogram() {
+        Random random = new Random(22);
+        TxnHistogram combined = new TxnHistogram();
+        TxnHistogram left = new TxnHistogram();
+        TxnHistogram right = new TxnHistogram();
+        for (int i = 0; i < 5_000; i++) {
+            // The right side reaches higher values, so adding it grows the bucket array
+            double seconds = i % 2 == 0 ? random.nextDouble() : 10 + random.nextDouble() * 500;
+            long count = 1 + random.nextInt(3);
+            combined.record(seconds, count);
+            (i % 2 == 0 ? left : right).record(seconds, count);
+        }
+
+        left.add(right);
+        left.add(new TxnHistogram());
+
+        assertEquals(combined.encode(), left.encode());
+        assertEquals(combined.getTotalCount(), left.getTotalCount());
+        assertEquals(combined.getMinimum(), left.getMinimum());
+        assertEquals(combined.getMaximum(), left.getMaximum());
+    }
+
+    @Test
+    void addingToAnEmptyHistogramCopiesMinAndMax() {
+        TxnHistogram source = new TxnHistogram();
+        source.record(0.25, 2);
+        source.record(4, 1);
+        TxnHistogram target = new TxnHistogram();
+
+        target.add(source);
+
+        assertEquals(0.25, target.getMinimum());
+        assertEquals(4, target.getMaximum());
+        assertEquals(3, target.getTotalCount());
+    }
+
+    @Test
+    void percentilesStayWithinTheBucketResolution() {
+        Random random = new Random(7);
+        int samples = 20_000;
+        long[] micros = new long[samples];
+        TxnHistogram histogram = new TxnHistogram();
+        for (int i = 0; i < samples; i++) {
+            micros[i] = (long) Math.exp(random.nextDouble() * Math.log(60_000_000d)); // 1 µs to 60 s
+            histogram.record(micros[i] / 1e6, 1);
+        }
+        Arrays.sort(micros);
+
+        for (double percentile : PERCENTILES) {
+            // Smallest value whose running count reaches the percentile, as the SQL summary defines it
+            int rank = (int) Math.max(1, Math.ceil(samples * percentile / 100));
+            long exact = micros[rank - 1];
+            long reported = Math.round(histogram.valueAtPercentile(percentile) * 1e6);
+
+            assertTrue(reported >= exact, "p" + percentile + " below the exact value");
+            assertTrue(reported - exact <= exact / 128, "p" + percentile + ": " + reported + " vs exact " + exact);
+        }
+    }
+
+    @Test
+    void percentilesAreClampedToRecordedRange() {
+        TxnHistogram histogram = new TxnHistogram();
+        histogram.record(1.001, 5);
+        histogram.record(2.003, 5);
+
+        for (double percentile : PERCENTILES) {
+            double value = histogram.valueAtPercentile(percentile);
+            assertTrue(value >= 1.001 && value <= 2.003, "p" + percentile + " outside the recorded range: " + value);
+        }
+        // Out-of-range percentiles behave like 0 and 100; the maximum is exact, lower values within a bucket
+        assertEquals(histogram.valueAtPercentile(0), histogram.valueAtPercentile(-10));
+        assertEquals(1.001, histogram.valueAtPercentile(0), 1.001 / 128);
+        assertEquals(2.003, histogram.valueAtPercentile(100));
+        assertEquals(2.003, histogram.valueAtPercentile(250));
+        assertEquals(0, new TxnHistogram().valueAtPercentile(99));
+    }
+
+    @Test
+    void ignoresNonPositiveCountsAndClampsNegativeTimes() {
+        TxnHistogram histogram = new TxnHistogram();
+        histogram.record(1, 0);
+        histogram.record(1, -4);
+        assertEquals(0, histogram.getTotalCount());
+
+        histogram.record(-0.5, 2);
+        assertEquals(2, histogram.getTotalCount());
+        assertEquals(0, histogram.getMinimum());
+        assertEquals(0, histogram.valueAtPercentile(50));
+    }
+}
@@ -0,0 +1,95 @@
+package com.lre.model.script;
+
+import com.lre.model.test.testcontent.groups.script.Script;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScriptIndexTest {
+
+    private static final int PROJECT_SCRIPTS = 10_000;
+    private static final int SYNCED_SCRIPTS = 2_000;
+
+    @Test
+    void indexLookupsMatchTheLinearScan() {
+        List<Script> scripts = new ArrayList<>();
+        for (int i = 0; i < PROJECT_SCRIPTS; i++) {
+            scripts.add(script(i, "Subject\\Team" + (i % 50), "Script_" + i));
+        }
+        // A later duplicate that differs only in case must not shadow the first script
+        scripts.add(script(PROJECT_SCRIPTS, "SUBJECT\\team0", "SCRIPT_0"));
+        ScriptIndex index = new ScriptIndex();
+        scripts.forEach(index::add);
+
+        // Look up with different casing, as the sync does for GitLab paths, plus some misses
+        for (int i = 0; i < SYNCED_SCRIPTS; i++) {
+            int id = (i * 7919) % (PROJECT_SCRIPTS + 500);
+            String folder = "subject\\TEAM" + (id % 50);
+            String name = "script_" + id;
+            assertEquals(Optional.ofNullable(linearScan(scripts, folder, name)), index.findByFolderAndName(folder, name),
+                    folder + "\\" + name);
+        }
+        assertEquals(PROJECT_SCRIPTS, index.size());
+        assertEquals(Optional.of(scripts.get(0)), index.findById(0));
+        assertEquals(Optional.empty(), index.findById(PROJECT_SCRIPTS));
+    }
+
+    @Test
+    void listByFolderPrefixReturnsTheFolderAndItsSubFolders() {
+        ScriptIndex index = new ScriptIndex();
+        Script login = script(1, "Subject\\A", "Login");
+        Script checkout = script(2, "Subject\\A", "checkout");
+        Script nested = script(3, "Subject\\A\\Nightly", "Search");
+        Script sibling = script(4, "Subject\\AB", "Other");
+        Script outside = script(5, "Subject\\B", "Other");
+        List.of(login, checkout, nested, sibling, outside).forEach(index::add);
+
+        assertEquals(List.of(checkout, login, nested), index.listByFolderPrefix("subject\\a"));
+        assertEquals(List.of(checkout, login, nested), index.listByFolderPrefix("SUBJECT\\A"));
+        assertEquals(List.of(nested), index.listByFolderPrefix("Subject\\A\\"));
+        assertEquals(List.of(sibling), index.listByFolderPrefix("Subject\\AB"));
+        assertEquals(5, index.listByFolderPrefix("").size());
+        assertTrue(index.listByFolderPrefix("Subject\\C").isEmpty());
+    }
+
+    @Test
+    void listByFolderPrefixReflectsPutAndRemove() {
+        ScriptIndex index = new ScriptIndex();
+        Script login = script(1, "Subject\\A", "Login");
+        index.add(login);
+        Script uploaded = script(2, "Subject\\A\\New", "Upload");
+        index.put(uploaded);
+        Script reuploaded = script(3, "subject\\a", "LOGIN");
+        index.put(reuploaded);
+
+        assertEquals(List.of(reuploaded, uploaded), index.listByFolderPrefix("Subject\\A"));
+        assertEquals(Optional.empty(), index.findById(1));
+
+        index.remove(uploaded);
+        assertEquals(List.of(reuploaded), index.listByFolderPrefix("Subject\\A"));
+        assertEquals(Optional.empty(), index.findById(2));
+    }
+
+    // The lookup LreScriptManager.getScriptByName did before the index
+    private static Script linearScan(List<Script> scripts, String testFolderPath, String scriptName) {
+        for (Script script : scripts) {
+            if (testFolderPath.equalsIgnoreCase(script.getTestFolderPath()) && scriptName.equalsIgnoreCase(script.getName())) {
+                return script;
+            }
+        }
+        return null;
+    }
+
+    private static Script script(int id, String folder, String name) {
+        Script script = new Script();
+        script.setId(id);
+        script.setTestFolderPath(folder);
+        script.setName(name);
+        return script;
+    }
+}
@@ -0,0 +1,99 @@
+package com.lre.services.lre.report.fetcher;
+
+import com.lre.db.SqlQueries;
+import com.lre.model.report.LreTxnStats;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.*;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cross-checks {@link TxnStatsEngine} against {@link SqlQueries#TXN_SUMMARY_SQL} on a synthetic
+ * results DB with NULL think times, zero and negative response times, zero counts, Fail and Stop
+ * statuses and group and transaction names that differ only in case.
+ */
+class TxnStatsEngineTest {
+
+    private static final int METER_ROWS = 6_000;
+
+    @TempDir
+    static Path tempDir;
+
+    private static Path dbPath;
+    private static List<LreTxnStats> sqlStats;
+
+    @BeforeAll
+    static void createResultsDb() throws SQLException {
+        dbPath = tempDir.resolve("results.db");
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbPath);
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE Event_meter (\"Event ID\" INTEGER, \"Group ID\" INTEGER, Status1 INTEGER, "
+                    + "\"Value\" REAL, \"Think Time\" REAL, Acount INTEGER, \"End Time\" REAL)");
+            stmt.execute("CREATE TABLE Event_map (\"Event ID\" INTEGER, \"Event Name\" TEXT, \"Event Type\" TEXT)");
+            stmt.execute("CREATE TABLE TransactionEndStatus (Status1 INTEGER, \"Transaction End Status\" TEXT)");
+            stmt.execute("CREATE TABLE VuserGroup (\"Group ID\" INTEGER, \"Group Name\" TEXT)");
+
+            stmt.execute("INSERT INTO TransactionEndStatus VALUES (0, 'Pass'), (1, 'Fail'), (2, 'Stop')");
+            stmt.execute("INSERT INTO VuserGroup VALUES (0, 'Login'), (1, 'login'), (2, 'Checkout')");
+            // Event 4 only ever fails and event 5 is not a transaction
+            stmt.execute("INSERT INTO Event_map VALUES (0, 'Buy', 'Transaction'), (1, 'buy', 'Transaction'), "
+                    + "(2, 'Search', 'Transaction'), (3, 'Action_Transaction', 'Transaction'), "
+                    + "(4, 'Broken', 'Transaction'), (5, 'Meet', 'Rendezvous')");
+
+            conn.setAutoCommit(false);
+            try (PreparedStatement insert = conn.prepareStatement("INSERT INTO Event_meter VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+                Random random = new Random(21);
+                for (int i = 0; i < METER_ROWS; i++) {
+                    int eventId = random.nextInt(6);
+                    double value = random.nextInt(4_000) / 1000.0;
+                    insert.setInt(1, eventId);
+                    insert.setInt(2, random.nextInt(3));
+                    insert.setInt(3, eventId == 4 ? 1 + random.nextInt(2) : random.nextInt(10) < 7 ? 0 : 1 + random.nextInt(2));
+                    insert.setDouble(4, value);
+                    switch (random.nextInt(5)) {
+                        case 0, 1 -> insert.setNull(5, Types.REAL);
+                        case 2 -> insert.setDouble(5, 0);
+                        case 3 -> insert.setDouble(5, value); // zero response time
+                        default -> insert.setDouble(5, random.nextInt(500) / 100.0); // may exceed the value
+                    }
+                    insert.setInt(6, random.nextInt(10) == 0 ? 0 : 1 + random.nextInt(3));
+                    insert.setDouble(7, i);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            conn.commit();
+        }
+        sqlStats = ReportStatsFetcher.fetchTransactions(dbPath);
+    }
+
+    @Test
+    void singlePartitionMatchesSqlSummary() {
+        assertEquals(sqlStats, new TxnStatsEngine(dbPath, 1).compute());
+    }
+
+    @Test
+    void severalPartitionsMatchSqlSummary() {
+        assertEquals(sqlStats, new TxnStatsEngine(dbPath, 4, 1).compute());
+    }
+
+    @Test
+    void syntheticDbCoversTheEdgeCases() {
+        // 3 groups x 5 transactions, with case-only differences kept apart
+        assertEquals(15, sqlStats.size());
+        assertTrue(sqlStats.stream().anyMatch(stats -> stats.getScriptName().equals("login")));
+        assertTrue(sqlStats.stream().anyMatch(stats -> stats.getTransactionName().equals("buy")));
+        assertTrue(sqlStats.stream().anyMatch(stats -> stats.getMinimum() <= 0), "zero and negative response times");
+        sqlStats.stream().filter(stats -> stats.getTransactionName().equals("Broken")).forEach(stats -> {
+            assertEquals(0, stats.getPass());
+            assertTrue(stats.getFail() > 0);
+            assertEquals(0, stats.getP90());
+        });
+    }
+}